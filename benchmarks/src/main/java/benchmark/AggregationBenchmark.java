@@ -0,0 +1,139 @@
+package benchmark;
+
+import model.StudentStore;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AggregationBenchmark {
+
+    private static final int ROWS = 200_000;
+
+    @Param({"2", "8", "32"})
+    public int threads;
+
+    @Param({"100", "100000"})
+    public int distinctStudents;
+
+    private String[] names;
+    private String[] emails;
+    private int[] rows;
+    private ExecutorService executor;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        SyntheticShortlists shortlists = new SyntheticShortlists(distinctStudents, 42);
+        names = new String[distinctStudents];
+        emails = new String[distinctStudents];
+        for (int i = 0; i < distinctStudents; i++) {
+            names[i] = shortlists.nameOf(i);
+            emails[i] = shortlists.emailOf(i);
+        }
+
+        Random random = new Random(42);
+        rows = new int[ROWS];
+        for (int i = 0; i < ROWS; i++) {
+            rows[i] = random.nextInt(distinctStudents);
+        }
+
+        executor = Executors.newFixedThreadPool(threads);
+    }
+
+    @TearDown(Level.Trial)
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public Map<String, LegacyRecord> sharedConcurrentHashMap() throws Exception {
+        Map<String, LegacyRecord> studentMap = new ConcurrentHashMap<>();
+
+        runWorkers(worker -> {
+            for (int row = worker; row < ROWS; row += threads) {
+                String email = emails[rows[row]];
+                String name = names[rows[row]];
+
+                studentMap.compute(email, (key, existing) -> {
+                    if (existing == null) {
+                        return new LegacyRecord(name, email);
+                    }
+                    existing.totalCount.incrementAndGet();
+                    if (!name.isEmpty() && !name.matches("\\d+") && !name.equals(email.split("@")[0])) {
+                        existing.name = name;
+                    }
+                    return existing;
+                });
+            }
+        });
+
+        return studentMap;
+    }
+
+    @Benchmark
+    public StudentStore sharedLockedStore() throws Exception {
+        StudentStore store = new StudentStore();
+
+        runWorkers(worker -> {
+            for (int row = worker; row < ROWS; row += threads) {
+                synchronized (store) {
+                    store.record(emails[rows[row]], names[rows[row]]);
+                }
+            }
+        });
+
+        return store;
+    }
+
+    @Benchmark
+    public StudentStore perThreadStoresWithMerge() throws Exception {
+        Queue<StudentStore> workerStores = new ConcurrentLinkedQueue<>();
+
+        runWorkers(worker -> {
+            StudentStore local = new StudentStore();
+            for (int row = worker; row < ROWS; row += threads) {
+                local.record(emails[rows[row]], names[rows[row]]);
+            }
+            workerStores.add(local);
+        });
+
+        return StudentStore.mergeAll(new ArrayList<>(workerStores), executor);
+    }
+
+    private void runWorkers(Worker body) throws Exception {
+        List<Future<?>> workers = new ArrayList<>();
+        for (int worker = 0; worker < threads; worker++) {
+            int id = worker;
+            workers.add(executor.submit(() -> body.run(id)));
+        }
+        for (Future<?> worker : workers) {
+            worker.get();
+        }
+    }
+
+    private interface Worker {
+        void run(int worker);
+    }
+
+    public static class LegacyRecord {
+        volatile String name;
+        final String email;
+        final AtomicInteger totalCount = new AtomicInteger(1);
+
+        LegacyRecord(String name, String email) {
+            this.name = name;
+            this.email = email;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package benchmark;
+
+import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import util.ExcelUtils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CellValueBenchmark {
+
+    @Param({"STRING", "NUMERIC", "DATE", "FORMULA", "BLANK"})
+    public String cellKind;
+
+    private Workbook workbook;
+    private List<Cell> cells;
+
+    @Setup(Level.Trial)
+    public void createCells() {
+        workbook = new XSSFWorkbook();
+        Sheet sheet = workbook.createSheet("Cells");
+        CellStyle dateStyle = workbook.createCellStyle();
+        dateStyle.setDataFormat(workbook.getCreationHelper().createDataFormat().getFormat("dd-mm-yyyy"));
+
+        cells = new ArrayList<>();
+        for (int r = 0; r < 1000; r++) {
+            Cell cell = sheet.createRow(r).createCell(0);
+            switch (cellKind) {
+                case "STRING":
+                    cell.setCellValue("Student Name " + r);
+                    break;
+                case "NUMERIC":
+                    cell.setCellValue(72000000 + r);
+                    break;
+                case "DATE":
+                    cell.setCellValue(new Date(1_700_000_000_000L + r * 86_400_000L));
+                    cell.setCellStyle(dateStyle);
+                    break;
+                case "FORMULA":
+                    cell.setCellFormula("1+" + r);
+                    break;
+                default:
+                    cell.setBlank();
+                    break;
+            }
+            cells.add(cell);
+        }
+        workbook.getCreationHelper().createFormulaEvaluator().evaluateAll();
+    }
+
+    @TearDown(Level.Trial)
+    public void close() throws IOException {
+        workbook.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(1000)
+    public void getCellValueAsString(Blackhole bh) {
+        for (Cell cell : cells) {
+            bh.consume(ExcelUtils.getCellValueAsString(cell));
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package benchmark;
+
+import cache.ParsedFileCache;
+import model.NameMatcher;
+import model.StudentRecord;
+import model.StudentStore;
+import org.openjdk.jmh.annotations.*;
+import processor.ExcelFileProcessor;
+import reader.XlsxStreamReader;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IngestionBenchmark {
+
+    @Param({"10", "50"})
+    public int files;
+
+    @Param({"2"})
+    public int sheets;
+
+    @Param({"500"})
+    public int rows;
+
+    @Param({"0.7"})
+    public double emailRatio;
+
+    private Path folder;
+    private File[] inputs;
+
+    @Setup(Level.Trial)
+    public void generate() throws IOException {
+        folder = Files.createTempDirectory("ingest-bench");
+        inputs = new SyntheticShortlists(rows * 4, 42).generate(folder, files, sheets, rows, emailRatio);
+    }
+
+    @TearDown(Level.Trial)
+    public void cleanUp() throws IOException {
+        SyntheticShortlists.deleteRecursively(folder);
+    }
+
+    @Benchmark
+    public Map<String, StudentRecord> ingestFolder() {
+        StudentStore store = new StudentStore();
+        XlsxStreamReader reader = new XlsxStreamReader();
+        ParsedFileCache cache = ParsedFileCache.disabled();
+
+        List<ExcelFileProcessor.ProcessingResult> parsed = new ArrayList<>();
+        for (File file : inputs) {
+            parsed.add(ExcelFileProcessor.processFile(file, reader, cache, store));
+        }
+        NameMatcher matcher = NameMatcher.build(store);
+        for (ExcelFileProcessor.ProcessingResult result : parsed) {
+            ExcelFileProcessor.resolveDeferredNames(result, store, matcher);
+        }
+
+        return store.asMap();
+    }
+}
@@ -0,0 +1,71 @@
+package benchmark;
+
+import model.NameMatcher;
+import model.StudentStore;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.BitSet;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NameMatchBenchmark {
+
+    private static final int QUERIES = 1024;
+
+    @Param({"1000", "100000"})
+    public int knownNames;
+
+    private NameMatcher matcher;
+    private String[] exactNames;
+    private String[] swappedNames;
+    private String[] misspelledNames;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void buildIndex() {
+        SyntheticShortlists population = new SyntheticShortlists(knownNames, 42);
+        StudentStore store = new StudentStore();
+
+        BitSet observed = new BitSet();
+        for (int student = 0; student < knownNames; student++) {
+            store.observe(population.emailOf(student), population.nameOf(student), observed);
+        }
+        store.resolveNames();
+        matcher = NameMatcher.build(store);
+
+        exactNames = new String[QUERIES];
+        swappedNames = new String[QUERIES];
+        misspelledNames = new String[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            String[] parts = population.nameOf((int) ((i * 2654435761L) % knownNames)).split(" ");
+            String last = parts[2];
+
+            exactNames[i] = String.join(" ", parts);
+            parts[2] = parts[0];
+            parts[0] = last;
+            swappedNames[i] = String.join(" ", parts);
+            parts[0] = last.substring(0, last.length() - 1) + "a";
+            misspelledNames[i] = String.join(" ", parts);
+        }
+    }
+
+    @Benchmark
+    public NameMatcher.Match exact() {
+        return matcher.match(exactNames[next++ & (QUERIES - 1)]);
+    }
+
+    @Benchmark
+    public NameMatcher.Match swappedTokens() {
+        return matcher.match(swappedNames[next++ & (QUERIES - 1)]);
+    }
+
+    @Benchmark
+    public NameMatcher.Match misspelled() {
+        return matcher.match(misspelledNames[next++ & (QUERIES - 1)]);
+    }
+}
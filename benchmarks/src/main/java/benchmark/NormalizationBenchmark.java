@@ -0,0 +1,124 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import util.ExcelUtils;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class NormalizationBenchmark {
+
+    private static final String[] HEADERS = {
+            "Sr. No.", "Full Name", "Email Address", "PRN", "Branch", "Contact No", "Status"
+    };
+
+    private static final String[][] ROWS = {
+            {"1", "Vineet Shinde", "vineet.shinde@gmail.com", "72012345", "Computer", "9876543210", "Selected"},
+            {"2", "  ANSHUL Vikram Purandare ", "anshul.purandare@gmail.com", "72012346", "IT", "9876543211", ""},
+            {"3", "Rutuja A. Gangawane", "rutujagangawane21@gmail.com", "72012347", "ENTC", "9876543212", "Waitlist"},
+            {"4", "", "", "", "", "", ""},
+            {"5", "12345", "", "72012349", "", "", ""}
+    };
+
+    @Benchmark
+    public void headerClassification(Blackhole bh) {
+        for (String header : HEADERS) {
+            bh.consume(ExcelUtils.isNameColumn(header));
+            bh.consume(ExcelUtils.isEmailColumn(header));
+        }
+    }
+
+    @Benchmark
+    public void headerClassificationLegacy(Blackhole bh) {
+        for (String header : HEADERS) {
+            bh.consume(Legacy.isNameColumn(header));
+            bh.consume(Legacy.isEmailColumn(header));
+        }
+    }
+
+    @Benchmark
+    public void rowNormalization(Blackhole bh) {
+        for (String[] row : ROWS) {
+            boolean empty = true;
+            for (String cell : row) {
+                if (!ExcelUtils.isBlankOrDigits(cell)) {
+                    empty = false;
+                    break;
+                }
+            }
+            if (empty) continue;
+
+            String name = row[1].trim();
+            if (name.length() < 3 || ExcelUtils.isDigits(name)) continue;
+
+            bh.consume(ExcelUtils.normalizeName(name));
+        }
+    }
+
+    @Benchmark
+    public void rowNormalizationLegacy(Blackhole bh) {
+        for (String[] row : ROWS) {
+            boolean empty = true;
+            for (String cell : row) {
+                String value = cell.trim();
+                if (!value.isEmpty() && !value.matches("\\d+")) {
+                    empty = false;
+                    break;
+                }
+            }
+            if (empty) continue;
+
+            String name = row[1].trim();
+            if (name.isEmpty() || name.matches("\\d+") || name.length() < 3) continue;
+
+            bh.consume(Legacy.normalizeName(name));
+        }
+    }
+
+    private static class Legacy {
+
+        static boolean isNameColumn(String header) {
+            String normalized = header.toLowerCase()
+                    .trim()
+                    .replaceAll("[^a-z0-9]", "");
+
+            return normalized.equals("name") ||
+                    normalized.equals("fullname") ||
+                    normalized.equals("studentname") ||
+                    normalized.equals("candidatename") ||
+                    normalized.equals("applicantname") ||
+                    normalized.equals("employeename") ||
+                    normalized.equals("personname") ||
+                    normalized.contains("nameof") ||
+                    normalized.endsWith("name");
+        }
+
+        static boolean isEmailColumn(String header) {
+            String normalized = header.toLowerCase()
+                    .trim()
+                    .replaceAll("[^a-z0-9]", "");
+
+            return normalized.equals("email") ||
+                    normalized.equals("emailaddress") ||
+                    normalized.equals("emailid") ||
+                    normalized.equals("mail") ||
+                    normalized.equals("mailid") ||
+                    normalized.equals("mailaddress") ||
+                    normalized.contains("email") ||
+                    normalized.contains("mail");
+        }
+
+        static String normalizeName(String name) {
+            return name.toLowerCase()
+                    .trim()
+                    .replaceAll("[^a-z]", "")
+                    .replaceAll("\\s+", "");
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package benchmark;
+
+import model.ExtractedFile;
+import org.openjdk.jmh.annotations.*;
+import processor.ExcelFileProcessor;
+import reader.DelimitedTextReader;
+import reader.DomWorkbookReader;
+import reader.HssfEventReader;
+import reader.MappedXlsxReader;
+import reader.XlsxStreamReader;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParseBenchmark {
+
+    @Param({"1000", "10000"})
+    public int rows;
+
+    @Param({"1", "8"})
+    public int sheets;
+
+    @Param({"1.0", "0.5"})
+    public double emailRatio;
+
+    private Path folder;
+    private File file;
+    private File delimitedFile;
+    private File legacyFile;
+
+    @Setup(Level.Trial)
+    public void generate() throws IOException {
+        folder = Files.createTempDirectory("parse-bench");
+        file = new SyntheticShortlists(rows * 4, 42).generate(folder, 1, sheets, rows, emailRatio)[0];
+        legacyFile = new SyntheticShortlists(rows * 4, 42).generateLegacy(folder, sheets, rows, emailRatio);
+        delimitedFile = new SyntheticShortlists(rows * 4, 42).generateDelimited(folder, rows * sheets, emailRatio);
+    }
+
+    @TearDown(Level.Trial)
+    public void cleanUp() throws IOException {
+        SyntheticShortlists.deleteRecursively(folder);
+    }
+
+    @Benchmark
+    public ExtractedFile streamingReader() throws Exception {
+        return ExcelFileProcessor.extractFile(file, new XlsxStreamReader());
+    }
+
+    @Benchmark
+    public ExtractedFile mappedReader() throws Exception {
+        return ExcelFileProcessor.extractFile(file, new MappedXlsxReader());
+    }
+
+    @Benchmark
+    public ExtractedFile domReader() throws Exception {
+        return ExcelFileProcessor.extractFile(file, new DomWorkbookReader());
+    }
+
+    @Benchmark
+    public ExtractedFile delimitedReader() throws Exception {
+        return ExcelFileProcessor.extractFile(delimitedFile, new DelimitedTextReader());
+    }
+
+    @Benchmark
+    public ExtractedFile legacyEventReader() throws Exception {
+        return ExcelFileProcessor.extractFile(legacyFile, new HssfEventReader());
+    }
+}
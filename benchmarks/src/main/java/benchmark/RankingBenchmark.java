@@ -0,0 +1,57 @@
+package benchmark;
+
+import model.StudentRanking;
+import model.StudentRecord;
+import model.StudentStore;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RankingBenchmark {
+
+    @Param({"1000", "100000"})
+    public int students;
+
+    private StudentStore store;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        SyntheticShortlists shortlists = new SyntheticShortlists(students, 42);
+        Random random = new Random(7);
+        store = new StudentStore();
+
+        for (int i = 0; i < students; i++) {
+            int id = store.intern(shortlists.emailOf(i), shortlists.nameOf(i));
+            store.addCount(id, 1 + random.nextInt(8));
+        }
+    }
+
+    @Benchmark
+    public List<StudentRecord> boxedFullSort() {
+        List<StudentRecord> sorted = new ArrayList<>(store.asMap().values());
+        sorted.sort((s1, s2) -> {
+            int byCount = Integer.compare(s2.getTotalCount(), s1.getTotalCount());
+            return byCount != 0 ? byCount : s1.getEmail().compareTo(s2.getEmail());
+        });
+        return sorted;
+    }
+
+    @Benchmark
+    public int[] packedFullSort() {
+        return StudentRanking.of(store).all();
+    }
+
+    @Benchmark
+    public int[] topTen() {
+        return StudentRanking.of(store).top(10);
+    }
+}
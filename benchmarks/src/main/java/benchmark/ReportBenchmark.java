@@ -0,0 +1,53 @@
+package benchmark;
+
+import model.StudentRecord;
+import org.openjdk.jmh.annotations.*;
+import writer.ReportGenerator;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReportBenchmark {
+
+    @Param({"1000", "20000"})
+    public int students;
+
+    private List<StudentRecord> sortedStudents;
+    private Path output;
+
+    @Setup(Level.Trial)
+    public void generate() throws IOException {
+        SyntheticShortlists shortlists = new SyntheticShortlists(students, 42);
+        Random random = new Random(7);
+
+        sortedStudents = new ArrayList<>(students);
+        for (int i = 0; i < students; i++) {
+            sortedStudents.add(new StudentRecord(shortlists.nameOf(i), shortlists.emailOf(i),
+                    1 + random.nextInt(8)));
+        }
+        sortedStudents.sort((s1, s2) -> Integer.compare(s2.getTotalCount(), s1.getTotalCount()));
+
+        output = Files.createTempFile("report-bench", ".xlsx");
+    }
+
+    @TearDown(Level.Trial)
+    public void cleanUp() throws IOException {
+        Files.deleteIfExists(output);
+    }
+
+    @Benchmark
+    public void exportToExcel() throws IOException {
+        ReportGenerator.writeWorkbook(sortedStudents, output.toString());
+    }
+}
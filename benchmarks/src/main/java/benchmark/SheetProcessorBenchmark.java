@@ -0,0 +1,39 @@
+package benchmark;
+
+import model.ExtractedSheet;
+import org.openjdk.jmh.annotations.*;
+import processor.SheetProcessor;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SheetProcessorBenchmark {
+
+    @Param({"1000", "10000"})
+    public int rows;
+
+    @Param({"true", "false"})
+    public boolean withEmail;
+
+    private String[][] data;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        data = new SyntheticShortlists(rows * 4, 42).generateRows(rows, withEmail, new Random(7));
+    }
+
+    @Benchmark
+    public ExtractedSheet processSheet() {
+        SheetProcessor sheetProcessor = new SheetProcessor("Round 1");
+        for (int r = 0; r < data.length; r++) {
+            sheetProcessor.acceptRow(r, data[r]);
+        }
+        return sheetProcessor.finish();
+    }
+}
@@ -0,0 +1,168 @@
+package benchmark;
+
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.Stream;
+
+public class SyntheticShortlists {
+
+    private static final String[] FIRST_NAMES = {
+            "Aarav", "Vineet", "Anshul", "Rutuja", "Pranav", "Girish", "Manaswi", "Swaraj",
+            "Pushkar", "Dhananjay", "Ayush", "Jagdish", "Sneha", "Kavya", "Omkar", "Tanvi"
+    };
+
+    private static final String[] MIDDLE_NAMES = {
+            "Suresh", "Vikram", "Annasaheb", "Vijay", "Jaykumar", "Santosh", "Dilip", "Sanjay"
+    };
+
+    private static final String[] LAST_NAMES = {
+            "Shinde", "Purandare", "Gangawane", "Hire", "Kale", "Nalawade", "Yewale", "Boob",
+            "Agrawal", "Bainade", "Deshpande", "Kulkarni", "Patil", "Joshi", "Pawar", "Jadhav"
+    };
+
+    private final int population;
+    private final long seed;
+
+    public SyntheticShortlists(int population, long seed) {
+        this.population = population;
+        this.seed = seed;
+    }
+
+    public String nameOf(int student) {
+        return FIRST_NAMES[student % FIRST_NAMES.length] + " "
+                + MIDDLE_NAMES[(student / FIRST_NAMES.length) % MIDDLE_NAMES.length] + " "
+                + LAST_NAMES[(student / (FIRST_NAMES.length * MIDDLE_NAMES.length)) % LAST_NAMES.length]
+                + (student >= FIRST_NAMES.length * MIDDLE_NAMES.length * LAST_NAMES.length
+                ? " " + toLetters(student / (FIRST_NAMES.length * MIDDLE_NAMES.length * LAST_NAMES.length))
+                : "");
+    }
+
+    public String emailOf(int student) {
+        return nameOf(student).toLowerCase().replace(' ', '.') + student + "@gmail.com";
+    }
+
+    public File[] generate(Path folder, int files, int sheets, int rows, double emailRatio) throws IOException {
+        Files.createDirectories(folder);
+        Random random = new Random(seed);
+        File[] generated = new File[files];
+
+        for (int f = 0; f < files; f++) {
+            File file = folder.resolve(String.format("shortlist-%04d.xlsx", f)).toFile();
+            writeWorkbook(file, sheets, rows, emailRatio, random);
+            generated[f] = file;
+        }
+
+        return generated;
+    }
+
+    public File generateLegacy(Path folder, int sheets, int rows, double emailRatio) throws IOException {
+        Files.createDirectories(folder);
+        Random random = new Random(seed);
+        File file = folder.resolve("shortlist.xls").toFile();
+
+        try (HSSFWorkbook workbook = new HSSFWorkbook()) {
+            for (int s = 0; s < sheets; s++) {
+                boolean withEmail = random.nextDouble() < emailRatio;
+                fillSheet(workbook.createSheet("Round " + (s + 1)), generateRows(rows, withEmail, random));
+            }
+
+            try (OutputStream out = new FileOutputStream(file)) {
+                workbook.write(out);
+            }
+        }
+
+        return file;
+    }
+
+    public File generateDelimited(Path folder, int rows, double emailRatio) throws IOException {
+        Files.createDirectories(folder);
+        Random random = new Random(seed);
+        File file = folder.resolve("shortlist.csv").toFile();
+        String[][] data = generateRows(rows, random.nextDouble() < emailRatio, random);
+
+        try (Writer out = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            for (String[] row : data) {
+                for (int c = 0; c < row.length; c++) {
+                    if (c > 0) out.write(',');
+                    out.write(c == 1 ? '"' + row[c] + '"' : row[c]);
+                }
+                out.write("\r\n");
+            }
+        }
+
+        return file;
+    }
+
+    public String[][] generateRows(int rows, boolean withEmail, Random random) {
+        String[][] data = new String[rows + 1][];
+        data[0] = withEmail
+                ? new String[]{"Sr. No.", "Full Name", "Email Address", "PRN", "Branch", "Contact No"}
+                : new String[]{"Sr. No.", "Candidate Name", "PRN", "Branch", "Contact No"};
+
+        for (int r = 1; r <= rows; r++) {
+            int student = random.nextInt(population);
+            String prn = String.valueOf(72000000 + student);
+            String phone = String.valueOf(9000000000L + random.nextInt(1_000_000_000));
+            String branch = r % 3 == 0 ? "IT" : r % 3 == 1 ? "Computer" : "ENTC";
+
+            data[r] = withEmail
+                    ? new String[]{String.valueOf(r), nameOf(student), emailOf(student), prn, branch, phone}
+                    : new String[]{String.valueOf(r), nameOf(student), prn, branch, phone};
+        }
+
+        return data;
+    }
+
+    public static void deleteRecursively(Path folder) throws IOException {
+        if (!Files.exists(folder)) return;
+
+        try (Stream<Path> paths = Files.walk(folder)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    private void writeWorkbook(File file, int sheets, int rows, double emailRatio, Random random) throws IOException {
+        try (SXSSFWorkbook workbook = new SXSSFWorkbook(200)) {
+            for (int s = 0; s < sheets; s++) {
+                boolean withEmail = random.nextDouble() < emailRatio;
+                fillSheet(workbook.createSheet("Round " + (s + 1)), generateRows(rows, withEmail, random));
+            }
+
+            try (OutputStream out = new FileOutputStream(file)) {
+                workbook.write(out);
+            }
+            workbook.dispose();
+        }
+    }
+
+    private static void fillSheet(Sheet sheet, String[][] data) {
+        for (int r = 0; r < data.length; r++) {
+            Row row = sheet.createRow(r);
+            for (int c = 0; c < data[r].length; c++) {
+                row.createCell(c).setCellValue(data[r][c]);
+            }
+        }
+    }
+
+    private static String toLetters(int value) {
+        StringBuilder letters = new StringBuilder();
+        do {
+            letters.append((char) ('A' + value % 26));
+            value /= 26;
+        } while (value > 0);
+        return letters.toString();
+    }
+}
@@ -1,32 +1,121 @@
-import model.StudentRecord;
+import cache.ParsedFileCache;
+import model.StudentStore;
+import reader.DomWorkbookReader;
+import reader.MappedXlsxReader;
+import reader.WorkbookReader;
+import reader.XlsxStreamReader;
+import service.IngestionMode;
 import service.InterviewTrackerService;
+import service.WatchModeService;
+import util.ExcelUtils;
+import util.VirtualThreads;
 import writer.ReportGenerator;
 
 import java.io.File;
-import java.util.Map;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Comparator;
 
 public class Main {
 
     private static final String DEFAULT_FOLDER = "input_files";
     private static final String OUTPUT_FILE = "Interview_Appearance_Report.xlsx";
+    private static final String CACHE_FILE = ".interview-tracker-cache";
+    private static final String SNAPSHOT_FILE = ".interview-tracker-snapshot";
     private static final int THREAD_POOL_SIZE = Runtime.getRuntime().availableProcessors() * 2;
 
     public static void main(String[] args) {
         suppressLog4jWarnings();
         printBanner();
 
-        String folderPath = args.length > 0 ? args[0] : DEFAULT_FOLDER;
-        File[] files = getExcelFiles(folderPath);
+        String folderPath = DEFAULT_FOLDER;
+        boolean domMode = false;
+        boolean opcMode = false;
+        boolean useCache = true;
+        boolean watchMode = false;
+        boolean matrix = false;
+        IngestionMode ingestionMode = IngestionMode.THREAD_POOL;
+
+        String metricsJson = null;
+        String metricsPrometheus = null;
+        String columnarPath = null;
+
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if ((arg.equals("--metrics-json") || arg.equals("--metrics-prom") || arg.equals("--columnar"))
+                    && i + 1 == args.length) {
+                System.err.println("❌ " + arg + " needs a file path");
+                return;
+            }
+
+            if (arg.equals("--metrics-json")) {
+                metricsJson = args[++i];
+            } else if (arg.equals("--metrics-prom")) {
+                metricsPrometheus = args[++i];
+            } else if (arg.equals("--columnar")) {
+                columnarPath = args[++i];
+            } else if (arg.equals("--dom")) {
+                domMode = true;
+            } else if (arg.equals("--opc")) {
+                opcMode = true;
+            } else if (arg.equals("--no-cache")) {
+                useCache = false;
+            } else if (arg.equals("--matrix")) {
+                matrix = true;
+            } else if (arg.equals("--watch")) {
+                watchMode = true;
+            } else if (arg.equals("--virtual-threads")) {
+                ingestionMode = IngestionMode.VIRTUAL_THREADS;
+            } else if (arg.equals("--pipeline")) {
+                ingestionMode = IngestionMode.PIPELINE;
+            } else {
+                folderPath = arg;
+            }
+        }
+
+        if (ingestionMode == IngestionMode.VIRTUAL_THREADS && !VirtualThreads.isSupported()) {
+            System.err.println("⚠️  Virtual threads need Java 21 or newer; using the fixed thread pool");
+            ingestionMode = IngestionMode.THREAD_POOL;
+        }
+
+        File[] files = getExcelFiles(folderPath, ingestionMode);
 
         if (files == null || files.length == 0) {
             return;
         }
 
-        InterviewTrackerService service = new InterviewTrackerService(THREAD_POOL_SIZE);
-        Map<String, StudentRecord> studentMap = service.processFiles(files);
+        WorkbookReader workbookReader = domMode ? new DomWorkbookReader()
+                : opcMode ? new XlsxStreamReader() : new MappedXlsxReader();
+        ParsedFileCache cache = useCache ? ParsedFileCache.load(Paths.get(CACHE_FILE)) : ParsedFileCache.disabled();
+
+        if (watchMode) {
+            runWatchMode(folderPath, files, workbookReader, cache);
+            return;
+        }
+
+        InterviewTrackerService service = new InterviewTrackerService(
+                THREAD_POOL_SIZE, ingestionMode, workbookReader, cache);
+        StudentStore store = service.processFiles(files);
 
-        ReportGenerator.generateReport(studentMap, OUTPUT_FILE);
+        ReportGenerator.generateReport(store, OUTPUT_FILE, matrix ? service.getFileNames() : null,
+                Paths.get(SNAPSHOT_FILE));
+        service.exportColumnar(columnarPath);
         service.printPerformanceMetrics();
+        service.exportMetrics(metricsJson, metricsPrometheus);
+    }
+
+    private static void runWatchMode(String folderPath, File[] files,
+                                     WorkbookReader workbookReader, ParsedFileCache cache) {
+        WatchModeService watchService = new WatchModeService(Paths.get(folderPath), workbookReader,
+                cache, OUTPUT_FILE, THREAD_POOL_SIZE);
+        try {
+            watchService.run(files);
+        } catch (IOException e) {
+            System.err.println("❌ Watch mode failed: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
     }
 
     private static void suppressLog4jWarnings() {
@@ -40,25 +129,34 @@ public class Main {
         System.out.println("═".repeat(60) + "\n");
     }
 
-    private static File[] getExcelFiles(String folderPath) {
+    private static File[] getExcelFiles(String folderPath, IngestionMode ingestionMode) {
         File folder = new File(folderPath);
 
         if (!folder.exists() || !folder.isDirectory()) {
             System.err.println("❌ Invalid folder path: " + folderPath);
-            System.out.println("\nUsage: java Main <folder_path>");
+            System.out.println("\nUsage: java Main [--dom | --opc] [--no-cache] [--matrix] [--watch] [--virtual-threads | --pipeline]"
+                    + " [--metrics-json <file>] [--metrics-prom <file>] [--columnar <file>] <folder_path>");
             return null;
         }
 
-        File[] files = folder.listFiles((dir, name) -> name.toLowerCase().endsWith(".xlsx"));
+        File[] files = folder.listFiles((dir, name) -> ExcelUtils.isSupportedInputFile(name));
 
         if (files == null || files.length == 0) {
-            System.err.println("❌ No Excel (.xlsx) files found in: " + folderPath);
+            System.err.println("❌ No shortlist files (.xlsx, .xlsm, .xls, .csv, .tsv) found in: " + folderPath);
             return null;
         }
+        Arrays.sort(files, Comparator.comparing(File::getName));
 
         System.out.println("📁 Folder: " + folderPath);
-        System.out.println("📊 Found " + files.length + " Excel file(s)");
-        System.out.println("🔄 Processing with " + THREAD_POOL_SIZE + " threads\n");
+        System.out.println("📊 Found " + files.length + " shortlist file(s)");
+        if (ingestionMode == IngestionMode.VIRTUAL_THREADS) {
+            System.out.println("🔄 Reading on virtual threads, decoding on "
+                    + Runtime.getRuntime().availableProcessors() + " core(s)\n");
+        } else if (ingestionMode == IngestionMode.PIPELINE) {
+            System.out.println("🔄 Processing through the read → parse → aggregate pipeline\n");
+        } else {
+            System.out.println("🔄 Processing with " + THREAD_POOL_SIZE + " threads\n");
+        }
         System.out.println("─".repeat(60));
 
         return files;
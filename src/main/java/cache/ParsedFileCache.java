@@ -0,0 +1,269 @@
+package cache;
+
+import model.ExtractedFile;
+import model.ExtractedSheet;
+import model.SheetClass;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ParsedFileCache {
+
+    private static final int MAGIC = 0x49435443;
+    private static final int FORMAT_VERSION = 2;
+    private static final SheetClass[] SHEET_CLASSES = SheetClass.values();
+
+    private final Path cacheFile;
+    private final boolean enabled;
+    private final Map<String, Entry> entriesByPath = new ConcurrentHashMap<>();
+    private final Map<String, Entry> entriesByHash = new ConcurrentHashMap<>();
+    private final Map<String, Entry> usedEntries = new ConcurrentHashMap<>();
+    private final Map<String, String> missedHashes = new ConcurrentHashMap<>();
+    private final AtomicInteger hits = new AtomicInteger(0);
+    private final AtomicInteger misses = new AtomicInteger(0);
+
+    private ParsedFileCache(Path cacheFile, boolean enabled) {
+        this.cacheFile = cacheFile;
+        this.enabled = enabled;
+    }
+
+    public static ParsedFileCache disabled() {
+        return new ParsedFileCache(null, false);
+    }
+
+    public static ParsedFileCache load(Path cacheFile) {
+        ParsedFileCache cache = new ParsedFileCache(cacheFile, true);
+
+        if (!Files.isRegularFile(cacheFile)) {
+            return cache;
+        }
+
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(cacheFile), 1 << 16))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+                return cache;
+            }
+
+            long limit = Files.size(cacheFile);
+            int entryCount = checkCount(in.readInt(), limit);
+            for (int i = 0; i < entryCount; i++) {
+                Entry entry = readEntry(in, limit);
+                cache.entriesByPath.put(entry.path, entry);
+                cache.entriesByHash.put(entry.contentHash, entry);
+            }
+        } catch (IOException | RuntimeException e) {
+            System.err.println("⚠️  Ignoring unreadable parse cache: " + e.getMessage());
+            cache.entriesByPath.clear();
+            cache.entriesByHash.clear();
+        }
+
+        return cache;
+    }
+
+    public ExtractedFile get(File file) {
+        if (!enabled) return null;
+
+        try {
+            String path = file.getAbsolutePath();
+            long size = file.length();
+            long lastModified = file.lastModified();
+
+            Entry entry = entriesByPath.get(path);
+            if (entry != null && entry.size == size && entry.lastModified == lastModified) {
+                return hit(entry);
+            }
+
+            String contentHash = hash(file);
+            entry = entriesByHash.get(contentHash);
+            if (entry != null) {
+                return hit(entry.movedTo(path, size, lastModified));
+            }
+            missedHashes.put(path, contentHash);
+        } catch (IOException e) {
+            System.err.println("⚠️  Could not check parse cache for " + file.getName() + ": " + e.getMessage());
+        }
+
+        misses.incrementAndGet();
+        return null;
+    }
+
+    public void put(File file, ExtractedFile extracted) {
+        if (!enabled) return;
+
+        try {
+            String path = file.getAbsolutePath();
+            String contentHash = missedHashes.remove(path);
+            if (contentHash == null) {
+                contentHash = hash(file);
+            }
+
+            Entry entry = new Entry(path, file.length(), file.lastModified(), contentHash, extracted);
+            usedEntries.put(entry.path, entry);
+        } catch (IOException e) {
+            System.err.println("⚠️  Could not cache " + file.getName() + ": " + e.getMessage());
+        }
+    }
+
+    public void save() {
+        if (!enabled) return;
+
+        Path tempFile = cacheFile.resolveSibling(cacheFile.getFileName() + ".tmp");
+
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(tempFile), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(usedEntries.size());
+
+            for (Entry entry : usedEntries.values()) {
+                writeEntry(out, entry);
+            }
+        } catch (IOException e) {
+            System.err.println("⚠️  Could not write parse cache: " + e.getMessage());
+            return;
+        }
+
+        try {
+            Files.move(tempFile, cacheFile, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            System.err.println("⚠️  Could not write parse cache: " + e.getMessage());
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getHits() {
+        return hits.get();
+    }
+
+    public int getMisses() {
+        return misses.get();
+    }
+
+    private ExtractedFile hit(Entry entry) {
+        hits.incrementAndGet();
+        usedEntries.put(entry.path, entry);
+        return entry.extracted;
+    }
+
+    private static String hash(File file) throws IOException {
+        try (InputStream in = new FileInputStream(file)) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[1 << 16];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+
+            StringBuilder hex = new StringBuilder();
+            for (byte b : digest.digest()) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException(e);
+        }
+    }
+
+    private static Entry readEntry(DataInputStream in, long limit) throws IOException {
+        String path = in.readUTF();
+        long size = in.readLong();
+        long lastModified = in.readLong();
+        String contentHash = in.readUTF();
+        String fileName = in.readUTF();
+        int totalSheets = in.readInt();
+
+        SheetClass[] sheetClasses = new SheetClass[checkCount(in.readInt(), limit)];
+        for (int i = 0; i < sheetClasses.length; i++) {
+            int ordinal = in.readUnsignedByte();
+            if (ordinal >= SHEET_CLASSES.length) {
+                throw new IOException("Unknown sheet class " + ordinal);
+            }
+            sheetClasses[i] = SHEET_CLASSES[ordinal];
+        }
+
+        int sheetCount = checkCount(in.readInt(), limit);
+        List<ExtractedSheet> sheets = new ArrayList<>(sheetCount);
+        for (int s = 0; s < sheetCount; s++) {
+            ExtractedSheet sheet = new ExtractedSheet(in.readUTF(), in.readBoolean());
+            int rowCount = checkCount(in.readInt(), limit);
+            for (int r = 0; r < rowCount; r++) {
+                String name = in.readUTF();
+                String email = sheet.isEmailBearing() ? in.readUTF() : null;
+                sheet.addRow(name, email);
+            }
+            sheets.add(sheet);
+        }
+
+        return new Entry(path, size, lastModified, contentHash,
+                new ExtractedFile(fileName, totalSheets, sheets, sheetClasses));
+    }
+
+    private static int checkCount(int count, long limit) throws IOException {
+        if (count < 0 || count > limit) {
+            throw new IOException("Corrupt count " + count);
+        }
+        return count;
+    }
+
+    private static void writeEntry(DataOutputStream out, Entry entry) throws IOException {
+        out.writeUTF(entry.path);
+        out.writeLong(entry.size);
+        out.writeLong(entry.lastModified);
+        out.writeUTF(entry.contentHash);
+        out.writeUTF(entry.extracted.getFileName());
+        out.writeInt(entry.extracted.getTotalSheets());
+
+        SheetClass[] sheetClasses = entry.extracted.getSheetClasses();
+        out.writeInt(sheetClasses.length);
+        for (SheetClass sheetClass : sheetClasses) {
+            out.writeByte(sheetClass.ordinal());
+        }
+
+        out.writeInt(entry.extracted.getSheets().size());
+        for (ExtractedSheet sheet : entry.extracted.getSheets()) {
+            out.writeUTF(sheet.getSheetName());
+            out.writeBoolean(sheet.isEmailBearing());
+            out.writeInt(sheet.getRowCount());
+            for (int r = 0; r < sheet.getRowCount(); r++) {
+                out.writeUTF(sheet.getName(r));
+                if (sheet.isEmailBearing()) {
+                    out.writeUTF(sheet.getEmail(r));
+                }
+            }
+        }
+    }
+
+    private static class Entry {
+        final String path;
+        final long size;
+        final long lastModified;
+        final String contentHash;
+        final ExtractedFile extracted;
+
+        Entry(String path, long size, long lastModified, String contentHash, ExtractedFile extracted) {
+            this.path = path;
+            this.size = size;
+            this.lastModified = lastModified;
+            this.contentHash = contentHash;
+            this.extracted = extracted;
+        }
+
+        Entry movedTo(String newPath, long newSize, long newLastModified) {
+            ExtractedFile renamed = new ExtractedFile(new File(newPath).getName(),
+                    extracted.getTotalSheets(), extracted.getSheets(), extracted.getSheetClasses());
+            return new Entry(newPath, newSize, newLastModified, contentHash, renamed);
+        }
+    }
+}
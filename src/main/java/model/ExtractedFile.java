@@ -0,0 +1,48 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class ExtractedFile {
+
+    private final String fileName;
+    private final int totalSheets;
+    private final List<ExtractedSheet> sheets;
+    private final SheetClass[] sheetClasses;
+
+    public ExtractedFile(String fileName, int totalSheets, List<ExtractedSheet> sheets, SheetClass[] sheetClasses) {
+        this.fileName = fileName;
+        this.totalSheets = totalSheets;
+        this.sheets = new ArrayList<>(sheets);
+        this.sheetClasses = sheetClasses.clone();
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public int getTotalSheets() {
+        return totalSheets;
+    }
+
+    public List<ExtractedSheet> getSheets() {
+        return sheets;
+    }
+
+    public SheetClass[] getSheetClasses() {
+        return sheetClasses.clone();
+    }
+
+    public boolean hasSheets(SheetClass sheetClass) {
+        return Arrays.asList(sheetClasses).contains(sheetClass);
+    }
+
+    public int getRowCount() {
+        int rows = 0;
+        for (ExtractedSheet sheet : sheets) {
+            rows += sheet.getRowCount();
+        }
+        return rows;
+    }
+}
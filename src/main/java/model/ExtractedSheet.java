@@ -0,0 +1,50 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ExtractedSheet {
+
+    private final String sheetName;
+    private final boolean emailBearing;
+    private final List<String> names;
+    private final List<String> emails;
+
+    public ExtractedSheet(String sheetName, boolean emailBearing) {
+        this.sheetName = sheetName;
+        this.emailBearing = emailBearing;
+        this.names = new ArrayList<>();
+        this.emails = emailBearing ? new ArrayList<>() : null;
+    }
+
+    public void addRow(String name, String email) {
+        names.add(name);
+        if (emailBearing) {
+            emails.add(email);
+        }
+    }
+
+    public String getSheetName() {
+        return sheetName;
+    }
+
+    public boolean isEmailBearing() {
+        return emailBearing;
+    }
+
+    public int getRowCount() {
+        return names.size();
+    }
+
+    public String getName(int row) {
+        return names.get(row);
+    }
+
+    public String getEmail(int row) {
+        return emailBearing ? emails.get(row) : null;
+    }
+
+    public List<String> getNames() {
+        return names;
+    }
+}
@@ -0,0 +1,186 @@
+package model;
+
+import util.ExcelUtils;
+import util.NameKeys;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class NameMatcher {
+
+    public enum MatchType {
+        EXACT, TOKEN_SORTED, PHONETIC, EDIT_DISTANCE, UNMATCHED
+    }
+
+    private static final int MAX_CANDIDATES = 4096;
+    private static final int CHARS_PER_EDIT = 8;
+    private static final int CHARS_PER_PHONETIC_EDIT = 4;
+
+    private final StudentStore store;
+    private final String[] keys;
+    private final int[] ids;
+    private final int[] letterMasks;
+    private final Map<String, Integer> keysByPhoneticKey = new HashMap<>();
+    private final Map<String, int[]> keysBySoundex = new HashMap<>();
+    private final int[] matchCounts = new int[MatchType.values().length];
+    private final int[] visitedIn;
+    private int visit;
+
+    private NameMatcher(StudentStore store) {
+        this.store = store;
+        this.keys = new String[store.nameTokenKeyCount()];
+        this.ids = new int[keys.length];
+        this.letterMasks = new int[keys.length];
+        this.visitedIn = new int[keys.length];
+
+        Map<String, List<Integer>> postings = new HashMap<>();
+        for (int entry = 0; entry < keys.length; entry++) {
+            keys[entry] = store.nameTokenKeyAt(entry);
+            ids[entry] = store.studentForNameTokenKeyAt(entry);
+            letterMasks[entry] = NameKeys.letterMask(keys[entry]);
+            if (ids[entry] == StudentStore.AMBIGUOUS) continue;
+
+            List<String> tokens = split(keys[entry]);
+            keysByPhoneticKey.merge(NameKeys.phoneticKey(tokens), entry, (current, next) -> {
+                if (current < 0 || ids[current] != ids[next]) return StudentStore.AMBIGUOUS;
+                return keys[current].compareTo(keys[next]) <= 0 ? current : next;
+            });
+
+            for (String token : tokens) {
+                postings.computeIfAbsent(NameKeys.soundex(token), code -> new ArrayList<>()).add(entry);
+            }
+        }
+
+        for (Map.Entry<String, List<Integer>> posting : postings.entrySet()) {
+            List<Integer> entries = posting.getValue();
+            int[] packed = new int[entries.size()];
+            for (int i = 0; i < packed.length; i++) {
+                packed[i] = entries.get(i);
+            }
+            keysBySoundex.put(posting.getKey(), packed);
+        }
+    }
+
+    public static NameMatcher build(StudentStore store) {
+        return new NameMatcher(store);
+    }
+
+    public Match match(String name) {
+        int id = store.studentForName(ExcelUtils.normalizeName(name));
+        if (id != StudentStore.NO_STUDENT) {
+            return count(new Match(id, MatchType.EXACT));
+        }
+
+        String tokenKey = NameKeys.tokenKey(name);
+        if (tokenKey.isEmpty()) {
+            return count(Match.UNMATCHED);
+        }
+
+        id = store.studentForNameTokens(tokenKey);
+        if (id >= 0) {
+            return count(new Match(id, MatchType.TOKEN_SORTED));
+        }
+        if (id == StudentStore.AMBIGUOUS) {
+            return count(Match.UNMATCHED);
+        }
+
+        List<String> tokens = split(tokenKey);
+        Integer phonetic = keysByPhoneticKey.get(NameKeys.phoneticKey(tokens));
+        if (phonetic != null && phonetic >= 0 && withinEdits(tokenKey, keys[phonetic], CHARS_PER_PHONETIC_EDIT)) {
+            return count(new Match(ids[phonetic], MatchType.PHONETIC));
+        }
+
+        id = closestByEditDistance(tokenKey, tokens);
+        return count(id >= 0 ? new Match(id, MatchType.EDIT_DISTANCE) : Match.UNMATCHED);
+    }
+
+    public int getMatchCount(MatchType type) {
+        return matchCounts[type.ordinal()];
+    }
+
+    private static boolean withinEdits(String tokenKey, String candidate, int charsPerEdit) {
+        int maxDistance = Math.max(1, tokenKey.length() / charsPerEdit);
+        return NameKeys.editDistance(tokenKey, candidate, maxDistance) <= maxDistance;
+    }
+
+    private int closestByEditDistance(String tokenKey, List<String> tokens) {
+        int maxDistance = Math.max(1, tokenKey.length() / CHARS_PER_EDIT);
+        int bestDistance = maxDistance + 1;
+        int bestId = StudentStore.NO_STUDENT;
+        int queryLetters = NameKeys.letterMask(tokenKey);
+        visit++;
+
+        List<int[]> postings = new ArrayList<>(tokens.size());
+        for (String token : tokens) {
+            int[] entries = keysBySoundex.get(NameKeys.soundex(token));
+            if (entries != null) {
+                postings.add(entries);
+            }
+        }
+        postings.sort((a, b) -> Integer.compare(a.length, b.length));
+
+        int budget = MAX_CANDIDATES;
+        for (int[] entries : postings) {
+            if (entries.length > budget) break;
+            budget -= entries.length;
+
+            for (int entry : entries) {
+                if (visitedIn[entry] == visit) continue;
+                visitedIn[entry] = visit;
+                if (Integer.bitCount(queryLetters ^ letterMasks[entry]) > 2 * maxDistance) continue;
+
+                int distance = NameKeys.editDistance(tokenKey, keys[entry], maxDistance);
+                if (distance < bestDistance) {
+                    bestDistance = distance;
+                    bestId = ids[entry];
+                } else if (distance == bestDistance && bestId != ids[entry]) {
+                    bestId = StudentStore.AMBIGUOUS;
+                }
+            }
+        }
+        return bestId;
+    }
+
+    private Match count(Match match) {
+        matchCounts[match.type.ordinal()]++;
+        return match;
+    }
+
+    private static List<String> split(String tokenKey) {
+        List<String> tokens = new ArrayList<>(4);
+        int start = 0;
+        for (int space = tokenKey.indexOf(' '); space >= 0; space = tokenKey.indexOf(' ', start)) {
+            tokens.add(tokenKey.substring(start, space));
+            start = space + 1;
+        }
+        tokens.add(tokenKey.substring(start));
+        return Collections.unmodifiableList(tokens);
+    }
+
+    public static class Match {
+        static final Match UNMATCHED = new Match(StudentStore.NO_STUDENT, MatchType.UNMATCHED);
+
+        private final int id;
+        private final MatchType type;
+
+        Match(int id, MatchType type) {
+            this.id = id;
+            this.type = type;
+        }
+
+        public int getId() {
+            return id;
+        }
+
+        public MatchType getType() {
+            return type;
+        }
+
+        public boolean isFuzzy() {
+            return type != MatchType.EXACT && type != MatchType.UNMATCHED;
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package model;
+
+public enum SheetClass {
+    EMAIL_BEARING,
+    NAME_ONLY,
+    IRRELEVANT
+}
@@ -0,0 +1,134 @@
+package model;
+
+import java.util.Arrays;
+
+public class StringIntTable {
+
+    public static final int NO_ENTRY = -1;
+
+    private char[] arena = new char[1024];
+    private int arenaLength;
+
+    private int[] keyOffsets = new int[32];
+    private int[] keyLengths = new int[32];
+    private int[] keyHashes = new int[32];
+    private int[] values = new int[32];
+    private int size;
+
+    private int[] slots = newSlots(64);
+
+    public int size() {
+        return size;
+    }
+
+    public int find(String key) {
+        int hash = spread(key.hashCode());
+        int mask = slots.length - 1;
+
+        for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+            int entry = slots[slot];
+            if (entry == NO_ENTRY) return NO_ENTRY;
+            if (keyHashes[entry] == hash && keyEquals(entry, key)) return entry;
+        }
+    }
+
+    public int intern(String key, int initialValue) {
+        int hash = spread(key.hashCode());
+        int mask = slots.length - 1;
+        int slot = hash & mask;
+
+        for (; ; slot = (slot + 1) & mask) {
+            int entry = slots[slot];
+            if (entry == NO_ENTRY) break;
+            if (keyHashes[entry] == hash && keyEquals(entry, key)) return entry;
+        }
+
+        int entry = append(key, hash, initialValue);
+        slots[slot] = entry;
+
+        if (size * 2 > slots.length) {
+            rehash(slots.length * 2);
+        }
+        return entry;
+    }
+
+    public String keyAt(int entry) {
+        return new String(arena, keyOffsets[entry], keyLengths[entry]);
+    }
+
+    public int valueAt(int entry) {
+        return values[entry];
+    }
+
+    public void setValue(int entry, int value) {
+        values[entry] = value;
+    }
+
+    public int addToValue(int entry, int delta) {
+        return values[entry] += delta;
+    }
+
+    public boolean keyEquals(int entry, String key) {
+        int length = keyLengths[entry];
+        if (length != key.length()) return false;
+
+        int offset = keyOffsets[entry];
+        for (int i = 0; i < length; i++) {
+            if (arena[offset + i] != key.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    public void clear() {
+        arenaLength = 0;
+        size = 0;
+        Arrays.fill(slots, NO_ENTRY);
+    }
+
+    private int append(String key, int hash, int value) {
+        if (size == keyOffsets.length) {
+            int capacity = size * 2;
+            keyOffsets = Arrays.copyOf(keyOffsets, capacity);
+            keyLengths = Arrays.copyOf(keyLengths, capacity);
+            keyHashes = Arrays.copyOf(keyHashes, capacity);
+            values = Arrays.copyOf(values, capacity);
+        }
+
+        int length = key.length();
+        if (arenaLength + length > arena.length) {
+            arena = Arrays.copyOf(arena, Math.max(arena.length * 2, arenaLength + length));
+        }
+        key.getChars(0, length, arena, arenaLength);
+
+        int entry = size++;
+        keyOffsets[entry] = arenaLength;
+        keyLengths[entry] = length;
+        keyHashes[entry] = hash;
+        values[entry] = value;
+        arenaLength += length;
+        return entry;
+    }
+
+    private void rehash(int capacity) {
+        slots = newSlots(capacity);
+        int mask = capacity - 1;
+
+        for (int entry = 0; entry < size; entry++) {
+            int slot = keyHashes[entry] & mask;
+            while (slots[slot] != NO_ENTRY) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = entry;
+        }
+    }
+
+    private static int[] newSlots(int capacity) {
+        int[] slots = new int[capacity];
+        Arrays.fill(slots, NO_ENTRY);
+        return slots;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,196 @@
+package model;
+
+import java.util.Arrays;
+
+public class StudentRanking {
+
+    private static final int INDEX_MASK = 0xFFFFFF;
+    private static final int COUNT_LIMIT = 1 << 15;
+
+    private final StudentStore store;
+    private final int size;
+    private final int[] studentsWithCount;
+    private final int[] denseRanks;
+    private final int[] studentsBelow;
+
+    private StudentRanking(StudentStore store) {
+        this.store = store;
+
+        int maxCount = 0;
+        for (int id = 0; id < store.capacity(); id++) {
+            maxCount = Math.max(maxCount, store.countOf(id));
+        }
+
+        studentsWithCount = new int[maxCount + 1];
+        int active = 0;
+        for (int id = 0; id < store.capacity(); id++) {
+            int count = store.countOf(id);
+            if (count > 0) {
+                studentsWithCount[count]++;
+                active++;
+            }
+        }
+        size = active;
+
+        denseRanks = new int[maxCount + 1];
+        studentsBelow = new int[maxCount + 1];
+        int rank = 0;
+        int above = 0;
+        for (int count = maxCount; count > 0; count--) {
+            if (studentsWithCount[count] == 0) continue;
+            denseRanks[count] = ++rank;
+            above += studentsWithCount[count];
+            studentsBelow[count] = size - above;
+        }
+    }
+
+    public static StudentRanking of(StudentStore store) {
+        return new StudentRanking(store);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int denseRankOf(int count) {
+        return count > 0 && count < denseRanks.length ? denseRanks[count] : 0;
+    }
+
+    public double percentileOf(int count) {
+        if (count <= 0 || count >= studentsWithCount.length || studentsWithCount[count] == 0) return 0;
+        return percentile(studentsBelow[count], studentsWithCount[count], size);
+    }
+
+    public static double percentile(int below, int tied, int total) {
+        return total == 0 ? 0 : 100.0 * (below + tied / 2.0) / total;
+    }
+
+    public int[] top(int k) {
+        int[] heap = new int[Math.max(0, Math.min(k, size))];
+        int filled = 0;
+
+        for (int id = 0; id < store.capacity() && heap.length > 0; id++) {
+            if (store.countOf(id) <= 0) continue;
+
+            if (filled < heap.length) {
+                heap[filled] = id;
+                siftUp(heap, filled++);
+            } else if (ranksBefore(id, heap[0])) {
+                heap[0] = id;
+                siftDown(heap, filled);
+            }
+        }
+
+        int[] ranked = new int[filled];
+        for (int i = filled - 1; i >= 0; i--) {
+            ranked[i] = heap[0];
+            heap[0] = heap[i];
+            siftDown(heap, i);
+        }
+        return ranked;
+    }
+
+    public int[] all() {
+        int[] ids = new int[size];
+        int next = 0;
+        for (int id = 0; id < store.capacity(); id++) {
+            if (store.countOf(id) > 0) {
+                ids[next++] = id;
+            }
+        }
+
+        if (size > INDEX_MASK || studentsWithCount.length > COUNT_LIMIT) {
+            sortByEmail(ids, 0, size);
+            return sortByCount(ids);
+        }
+
+        long[] keys = new long[size];
+        for (int i = 0; i < size; i++) {
+            long count = COUNT_LIMIT - 1 - store.countOf(ids[i]);
+            keys[i] = count << 48 | (long) emailPrefix(store.emailOf(ids[i])) << 24 | i;
+        }
+        Arrays.parallelSort(keys);
+
+        int[] ranked = new int[size];
+        for (int i = 0; i < size; i++) {
+            ranked[i] = ids[(int) (keys[i] & INDEX_MASK)];
+        }
+
+        for (int start = 0, end; start < size; start = end) {
+            end = start + 1;
+            while (end < size && keys[end] >>> 24 == keys[start] >>> 24) {
+                end++;
+            }
+            if (end - start > 1) {
+                sortByEmail(ranked, start, end);
+            }
+        }
+        return ranked;
+    }
+
+    private int[] sortByCount(int[] idsByEmail) {
+        long[] keys = new long[idsByEmail.length];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = (long) (Integer.MAX_VALUE - store.countOf(idsByEmail[i])) << 32 | i;
+        }
+        Arrays.parallelSort(keys);
+
+        int[] ranked = new int[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            ranked[i] = idsByEmail[(int) keys[i]];
+        }
+        return ranked;
+    }
+
+    private void sortByEmail(int[] ids, int from, int to) {
+        String[] emails = new String[to - from];
+        for (int i = from; i < to; i++) {
+            emails[i - from] = store.emailOf(ids[i]);
+        }
+        Arrays.parallelSort(emails);
+
+        for (int i = from; i < to; i++) {
+            ids[i] = store.find(emails[i - from]);
+        }
+    }
+
+    private static int emailPrefix(String email) {
+        int prefix = 0;
+        for (int i = 0; i < 3; i++) {
+            prefix = prefix << 8 | (i < email.length() ? Math.min(email.charAt(i), 0xFF) : 0);
+        }
+        return prefix;
+    }
+
+    private boolean ranksBefore(int a, int b) {
+        int byCount = Integer.compare(store.countOf(b), store.countOf(a));
+        return byCount != 0 ? byCount < 0 : store.emailOf(a).compareTo(store.emailOf(b)) < 0;
+    }
+
+    private void siftUp(int[] heap, int index) {
+        int id = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!ranksBefore(heap[parent], id)) break;
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = id;
+    }
+
+    private void siftDown(int[] heap, int filled) {
+        int id = heap[0];
+        int index = 0;
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= filled) break;
+            if (child + 1 < filled && ranksBefore(heap[child], heap[child + 1])) {
+                child++;
+            }
+            if (!ranksBefore(id, heap[child])) break;
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = id;
+    }
+}
@@ -1,21 +1,23 @@
 package model;
 
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.BitSet;
 
 public class StudentRecord {
 
-    private volatile String name;
+    private final String name;
     private final String email;
-    private final AtomicInteger totalCount;
+    private final int totalCount;
+    private final BitSet appearances;
 
-    public StudentRecord(String name, String email) {
-        this.name = name;
-        this.email = email;
-        this.totalCount = new AtomicInteger(1);
+    public StudentRecord(String name, String email, int totalCount) {
+        this(name, email, totalCount, new BitSet());
     }
 
-    public void incrementCount() {
-        this.totalCount.incrementAndGet();
+    public StudentRecord(String name, String email, int totalCount, BitSet appearances) {
+        this.name = name;
+        this.email = email;
+        this.totalCount = totalCount;
+        this.appearances = appearances;
     }
 
     public String getName() {
@@ -27,17 +29,15 @@ public class StudentRecord {
     }
 
     public int getTotalCount() {
-        return totalCount.get();
+        return totalCount;
     }
 
-    public void setName(String name) {
-        if (name != null && !name.isEmpty() && !name.equals(this.email.split("@")[0])) {
-            this.name = name;
-        }
+    public BitSet getAppearances() {
+        return appearances;
     }
 
     @Override
     public String toString() {
-        return String.format("%s,%s,%d", name, email, totalCount.get());
+        return String.format("%s,%s,%d", name, email, totalCount);
     }
 }
@@ -0,0 +1,464 @@
+package model;
+
+import util.ExcelUtils;
+import util.NameKeys;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Primitive-array store of per-student counts, names and file appearances, keyed by email.
+ *
+ * <p>{@link #resolveNames()} picks each student's display name from the observed spellings:
+ * readable names (not digits, not the email's local part) first, then the spelling seen in the
+ * most files, then the one with more words, then the longer one, then mixed case over all caps,
+ * and finally the one that sorts first. Exact matches from name-only sheets are offered through
+ * {@link #offerDisplayName} and win by the same rule, file counts aside. A normalized name maps to
+ * the email it was seen with in the most files, ties going to the email that sorts first.
+ */
+public class StudentStore {
+
+    public static final int NO_STUDENT = StringIntTable.NO_ENTRY;
+    public static final int AMBIGUOUS = -2;
+
+    private static final char OBSERVATION_SEPARATOR = '\u0000';
+
+    private final StringIntTable emails = new StringIntTable();
+    private final StringIntTable nameIndex = new StringIntTable();
+    private final StringIntTable nameTokenIndex = new StringIntTable();
+    private final StringIntTable observations = new StringIntTable();
+
+    private char[] nameArena = new char[1024];
+    private int nameArenaLength;
+    private int[] nameOffsets = new int[32];
+    private int[] nameLengths = new int[32];
+    private BitSet[] appearances = new BitSet[32];
+
+    private int activeStudents;
+
+    public int intern(String email, String name) {
+        int before = emails.size();
+        int id = emails.intern(email, 0);
+
+        if (emails.size() > before) {
+            storeName(id, name);
+        }
+        return id;
+    }
+
+    public int addCount(int id, int delta) {
+        int previous = emails.valueAt(id);
+        int count = emails.addToValue(id, delta);
+
+        if (previous <= 0 && count > 0) {
+            activeStudents++;
+        } else if (previous > 0 && count <= 0) {
+            activeStudents--;
+        }
+        return count;
+    }
+
+    public int record(String email, String name) {
+        int id = intern(email, name);
+        addCount(id, 1);
+        return id;
+    }
+
+    public int find(String email) {
+        return emails.find(email);
+    }
+
+    public int studentForName(String normalizedName) {
+        int entry = nameIndex.find(normalizedName);
+        return entry == StringIntTable.NO_ENTRY ? NO_STUDENT : nameIndex.valueAt(entry);
+    }
+
+    public void mapName(String normalizedName, int id) {
+        nameIndex.setValue(nameIndex.intern(normalizedName, id), id);
+    }
+
+    public void observe(String email, String name, BitSet observedInFile) {
+        int entry = observations.intern(email + OBSERVATION_SEPARATOR + name, 0);
+        if (!observedInFile.get(entry)) {
+            observedInFile.set(entry);
+            observations.addToValue(entry, 1);
+        }
+    }
+
+    public void resolveNames() {
+        nameIndex.clear();
+        nameTokenIndex.clear();
+
+        int[] observedIds = new int[observations.size()];
+        StringIntTable filesByNameAndEmail = new StringIntTable();
+        for (int entry = 0; entry < observedIds.length; entry++) {
+            String key = observations.keyAt(entry);
+            int separator = key.indexOf(OBSERVATION_SEPARATOR);
+            String email = key.substring(0, separator);
+            String name = key.substring(separator + 1);
+
+            int id = intern(email, name);
+            observedIds[entry] = id;
+            mapNameTokens(NameKeys.tokenKey(name), id);
+
+            String pair = ExcelUtils.normalizeName(name) + OBSERVATION_SEPARATOR + email;
+            filesByNameAndEmail.addToValue(filesByNameAndEmail.intern(pair, 0), observations.valueAt(entry));
+        }
+
+        int[] displayEntries = new int[emails.size()];
+        Arrays.fill(displayEntries, StringIntTable.NO_ENTRY);
+        for (int entry = 0; entry < observedIds.length; entry++) {
+            int id = observedIds[entry];
+            if (displayEntries[id] == StringIntTable.NO_ENTRY || prefersDisplayName(id, entry, displayEntries[id])) {
+                displayEntries[id] = entry;
+            }
+        }
+        for (int id = 0; id < displayEntries.length; id++) {
+            if (displayEntries[id] == StringIntTable.NO_ENTRY) continue;
+
+            String key = observations.keyAt(displayEntries[id]);
+            String name = key.substring(key.indexOf(OBSERVATION_SEPARATOR) + 1);
+            if (!nameEquals(id, name)) {
+                storeName(id, name);
+            }
+        }
+
+        int[] winningFiles = new int[filesByNameAndEmail.size()];
+        for (int pair = 0; pair < filesByNameAndEmail.size(); pair++) {
+            String key = filesByNameAndEmail.keyAt(pair);
+            int separator = key.indexOf(OBSERVATION_SEPARATOR);
+            int id = emails.find(key.substring(separator + 1));
+            int files = filesByNameAndEmail.valueAt(pair);
+
+            int entry = nameIndex.intern(key.substring(0, separator), id);
+            int current = nameIndex.valueAt(entry);
+            if (current == id || files > winningFiles[entry]
+                    || files == winningFiles[entry] && emailOf(id).compareTo(emailOf(current)) < 0) {
+                nameIndex.setValue(entry, id);
+                winningFiles[entry] = files;
+            }
+        }
+    }
+
+    public void offerDisplayName(int id, String name) {
+        String email = emailOf(id);
+        String current = nameOf(id);
+        if (!isDisplayName(email, name)) return;
+
+        if (!isDisplayName(email, current) || prefersSpelling(name, current)) {
+            storeName(id, name);
+        }
+    }
+
+    private void mapNameTokens(String tokenKey, int id) {
+        if (tokenKey.isEmpty()) return;
+
+        int entry = nameTokenIndex.intern(tokenKey, id);
+        if (nameTokenIndex.valueAt(entry) != id) {
+            nameTokenIndex.setValue(entry, AMBIGUOUS);
+        }
+    }
+
+    public int studentForNameTokens(String tokenKey) {
+        int entry = nameTokenIndex.find(tokenKey);
+        return entry == StringIntTable.NO_ENTRY ? NO_STUDENT : nameTokenIndex.valueAt(entry);
+    }
+
+    public int nameTokenKeyCount() {
+        return nameTokenIndex.size();
+    }
+
+    public String nameTokenKeyAt(int entry) {
+        return nameTokenIndex.keyAt(entry);
+    }
+
+    public int studentForNameTokenKeyAt(int entry) {
+        return nameTokenIndex.valueAt(entry);
+    }
+
+    public void clearNameMappings() {
+        nameIndex.clear();
+        nameTokenIndex.clear();
+        observations.clear();
+        compactNames();
+    }
+
+    public int nameMappingCount() {
+        return nameIndex.size();
+    }
+
+    public void markAppearances(BitSet ids, int fileIndex) {
+        for (int id = ids.nextSetBit(0); id >= 0; id = ids.nextSetBit(id + 1)) {
+            markAppearance(id, fileIndex);
+        }
+    }
+
+    public void markAppearance(int id, int fileIndex) {
+        appearanceSet(id).set(fileIndex);
+    }
+
+    public BitSet appearancesOf(int id) {
+        return id < appearances.length && appearances[id] != null ? (BitSet) appearances[id].clone() : new BitSet();
+    }
+
+    public int size() {
+        return activeStudents;
+    }
+
+    public int capacity() {
+        return emails.size();
+    }
+
+    public String emailOf(int id) {
+        return emails.keyAt(id);
+    }
+
+    public String nameOf(int id) {
+        return new String(nameArena, nameOffsets[id], nameLengths[id]);
+    }
+
+    public int countOf(int id) {
+        return emails.valueAt(id);
+    }
+
+    public StudentRecord recordOf(int id) {
+        return new StudentRecord(nameOf(id), emailOf(id), countOf(id), appearancesOf(id));
+    }
+
+    public void mergeFrom(StudentStore other) {
+        for (int otherId = 0; otherId < other.emails.size(); otherId++) {
+            int id = intern(other.emails.keyAt(otherId), other.nameOf(otherId));
+            int count = other.countOf(otherId);
+            if (count != 0) {
+                addCount(id, count);
+            }
+
+            if (otherId < other.appearances.length && other.appearances[otherId] != null) {
+                appearanceSet(id).or(other.appearances[otherId]);
+            }
+        }
+
+        for (int entry = 0; entry < other.observations.size(); entry++) {
+            observations.addToValue(observations.intern(other.observations.keyAt(entry), 0),
+                    other.observations.valueAt(entry));
+        }
+    }
+
+    public static StudentStore mergeAll(List<StudentStore> stores, ExecutorService executor)
+            throws InterruptedException, ExecutionException {
+
+        if (stores.isEmpty()) {
+            return new StudentStore();
+        }
+
+        while (stores.size() > 1) {
+            List<Future<StudentStore>> merges = new ArrayList<>();
+            for (int i = 0; i + 1 < stores.size(); i += 2) {
+                StudentStore left = stores.get(i);
+                StudentStore right = stores.get(i + 1);
+                merges.add(executor.submit(() -> {
+                    left.mergeFrom(right);
+                    return left;
+                }));
+            }
+
+            List<StudentStore> merged = new ArrayList<>();
+            for (Future<StudentStore> merge : merges) {
+                merged.add(merge.get());
+            }
+            if (stores.size() % 2 == 1) {
+                merged.add(stores.get(stores.size() - 1));
+            }
+            stores = merged;
+        }
+
+        return stores.get(0);
+    }
+
+    public Map<String, StudentRecord> asMap() {
+        return new RecordView();
+    }
+
+    private boolean prefersDisplayName(int id, int candidate, int current) {
+        String email = emails.keyAt(id);
+        String candidateName = observations.keyAt(candidate).substring(email.length() + 1);
+        String currentName = observations.keyAt(current).substring(email.length() + 1);
+
+        boolean candidateReadable = isDisplayName(email, candidateName);
+        if (candidateReadable != isDisplayName(email, currentName)) return candidateReadable;
+
+        int byFiles = Integer.compare(observations.valueAt(candidate), observations.valueAt(current));
+        return byFiles != 0 ? byFiles > 0 : prefersSpelling(candidateName, currentName);
+    }
+
+    private static boolean prefersSpelling(String candidateName, String currentName) {
+        int byWords = Integer.compare(wordCount(candidateName), wordCount(currentName));
+        if (byWords != 0) return byWords > 0;
+
+        int byLength = Integer.compare(candidateName.length(), currentName.length());
+        if (byLength != 0) return byLength > 0;
+
+        boolean candidateAllCaps = isAllCaps(candidateName);
+        if (candidateAllCaps != isAllCaps(currentName)) return !candidateAllCaps;
+
+        return candidateName.compareTo(currentName) < 0;
+    }
+
+    private static int wordCount(String name) {
+        int words = 0;
+        boolean inWord = false;
+        for (int i = 0; i < name.length(); i++) {
+            boolean letter = !Character.isWhitespace(name.charAt(i));
+            if (letter && !inWord) words++;
+            inWord = letter;
+        }
+        return words;
+    }
+
+    private static boolean isAllCaps(String name) {
+        boolean hasLetter = false;
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (Character.isLowerCase(c)) return false;
+            hasLetter |= Character.isUpperCase(c);
+        }
+        return hasLetter;
+    }
+
+    private static boolean isDisplayName(String email, String name) {
+        if (name.isEmpty() || ExcelUtils.isDigits(name)) return false;
+
+        int at = email.indexOf('@');
+        int localLength = at == -1 ? email.length() : at;
+        return !(name.length() == localLength && email.startsWith(name));
+    }
+
+    private boolean nameEquals(int id, String name) {
+        int length = nameLengths[id];
+        if (length != name.length()) return false;
+
+        int offset = nameOffsets[id];
+        for (int i = 0; i < length; i++) {
+            if (nameArena[offset + i] != name.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    private BitSet appearanceSet(int id) {
+        if (id >= appearances.length) {
+            appearances = Arrays.copyOf(appearances, Math.max(appearances.length * 2, id + 1));
+        }
+        if (appearances[id] == null) {
+            appearances[id] = new BitSet();
+        }
+        return appearances[id];
+    }
+
+    private void compactNames() {
+        int used = 0;
+        for (int id = 0; id < emails.size(); id++) {
+            used += nameLengths[id];
+        }
+
+        char[] compacted = new char[Math.max(1024, used)];
+        int length = 0;
+        for (int id = 0; id < emails.size(); id++) {
+            System.arraycopy(nameArena, nameOffsets[id], compacted, length, nameLengths[id]);
+            nameOffsets[id] = length;
+            length += nameLengths[id];
+        }
+
+        nameArena = compacted;
+        nameArenaLength = length;
+    }
+
+    private void storeName(int id, String name) {
+        if (id >= nameOffsets.length) {
+            int capacity = Math.max(nameOffsets.length * 2, id + 1);
+            nameOffsets = Arrays.copyOf(nameOffsets, capacity);
+            nameLengths = Arrays.copyOf(nameLengths, capacity);
+        }
+
+        int length = name.length();
+        if (nameArenaLength + length > nameArena.length) {
+            nameArena = Arrays.copyOf(nameArena, Math.max(nameArena.length * 2, nameArenaLength + length));
+        }
+        name.getChars(0, length, nameArena, nameArenaLength);
+
+        nameOffsets[id] = nameArenaLength;
+        nameLengths[id] = length;
+        nameArenaLength += length;
+    }
+
+    private class RecordView extends AbstractMap<String, StudentRecord> {
+
+        @Override
+        public StudentRecord get(Object key) {
+            if (!(key instanceof String)) return null;
+
+            int id = emails.find((String) key);
+            return id == NO_STUDENT || countOf(id) <= 0 ? null : recordOf(id);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return get(key) != null;
+        }
+
+        @Override
+        public int size() {
+            return StudentStore.this.size();
+        }
+
+        @Override
+        public Set<Entry<String, StudentRecord>> entrySet() {
+            return new AbstractSet<Entry<String, StudentRecord>>() {
+                @Override
+                public int size() {
+                    return StudentStore.this.size();
+                }
+
+                @Override
+                public Iterator<Entry<String, StudentRecord>> iterator() {
+                    return new RecordIterator();
+                }
+            };
+        }
+    }
+
+    private class RecordIterator implements Iterator<Map.Entry<String, StudentRecord>> {
+        private int nextId = advance(0);
+
+        @Override
+        public boolean hasNext() {
+            return nextId != NO_STUDENT;
+        }
+
+        @Override
+        public Map.Entry<String, StudentRecord> next() {
+            if (nextId == NO_STUDENT) throw new NoSuchElementException();
+
+            StudentRecord record = recordOf(nextId);
+            nextId = advance(nextId + 1);
+            return new AbstractMap.SimpleImmutableEntry<>(record.getEmail(), record);
+        }
+
+        private int advance(int from) {
+            for (int id = from; id < emails.size(); id++) {
+                if (emails.valueAt(id) > 0) return id;
+            }
+            return NO_STUDENT;
+        }
+    }
+}
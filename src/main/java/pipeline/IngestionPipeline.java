@@ -0,0 +1,208 @@
+package pipeline;
+
+import cache.ParsedFileCache;
+import model.ExtractedFile;
+import model.StudentStore;
+import processor.ExcelFileProcessor;
+import reader.WorkbookReader;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class IngestionPipeline {
+
+    private static final Job END = new Job(-1, null);
+
+    private final WorkbookReader workbookReader;
+    private final ParsedFileCache parsedFileCache;
+    private final int readers;
+    private final int parsers;
+    private final int aggregators;
+    private final int queueCapacity;
+
+    private final StageMetrics readStage;
+    private final StageMetrics parseStage;
+    private final StageMetrics aggregateStage;
+
+    public IngestionPipeline(WorkbookReader workbookReader, ParsedFileCache parsedFileCache,
+                             int readers, int parsers, int aggregators, int queueCapacity) {
+        this.workbookReader = workbookReader;
+        this.parsedFileCache = parsedFileCache;
+        this.readers = readers;
+        this.parsers = parsers;
+        this.aggregators = aggregators;
+        this.queueCapacity = queueCapacity;
+
+        this.readStage = new StageMetrics("read", "bytes", readers);
+        this.parseStage = new StageMetrics("parse", "rows", parsers);
+        this.aggregateStage = new StageMetrics("aggregate", "rows", aggregators);
+    }
+
+    public List<ExcelFileProcessor.ProcessingResult> run(File[] files, StudentStore store)
+            throws InterruptedException, ExecutionException {
+
+        BlockingQueue<Job> rawFiles = new ArrayBlockingQueue<>(queueCapacity);
+        BlockingQueue<Job> extractedFiles = new ArrayBlockingQueue<>(queueCapacity);
+        int[] schedule = ExcelFileProcessor.largestFirst(files);
+        AtomicInteger nextFile = new AtomicInteger();
+        AtomicInteger liveReaders = new AtomicInteger(readers);
+        AtomicInteger liveParsers = new AtomicInteger(parsers);
+        Queue<StudentStore> aggregatorStores = new ConcurrentLinkedQueue<>();
+        ExcelFileProcessor.ProcessingResult[] results = new ExcelFileProcessor.ProcessingResult[files.length];
+
+        ExecutorService executor = Executors.newFixedThreadPool(readers + parsers + aggregators);
+        CompletionService<Void> stages = new ExecutorCompletionService<>(executor);
+
+        try {
+            for (int i = 0; i < readers; i++) {
+                stages.submit(() -> {
+                    try {
+                        read(files, schedule, nextFile, rawFiles);
+                    } finally {
+                        if (liveReaders.decrementAndGet() == 0) {
+                            signalEnd(rawFiles, parsers);
+                        }
+                    }
+                    return null;
+                });
+            }
+            for (int i = 0; i < parsers; i++) {
+                stages.submit(() -> {
+                    try {
+                        parse(rawFiles, extractedFiles);
+                    } finally {
+                        if (liveParsers.decrementAndGet() == 0) {
+                            signalEnd(extractedFiles, aggregators);
+                        }
+                    }
+                    return null;
+                });
+            }
+            for (int i = 0; i < aggregators; i++) {
+                StudentStore local = new StudentStore();
+                aggregatorStores.add(local);
+                stages.submit(() -> {
+                    aggregate(extractedFiles, local, results);
+                    return null;
+                });
+            }
+
+            for (int i = 0; i < readers + parsers + aggregators; i++) {
+                stages.take().get();
+            }
+
+            store.mergeFrom(StudentStore.mergeAll(new ArrayList<>(aggregatorStores), executor));
+        } finally {
+            executor.shutdownNow();
+        }
+
+        return Arrays.asList(results);
+    }
+
+    public List<StageMetrics> getStageMetrics() {
+        return Arrays.asList(readStage, parseStage, aggregateStage);
+    }
+
+    private void read(File[] files, int[] schedule, AtomicInteger nextFile, BlockingQueue<Job> rawFiles)
+            throws InterruptedException {
+
+        for (int next = nextFile.getAndIncrement(); next < schedule.length; next = nextFile.getAndIncrement()) {
+            long start = System.nanoTime();
+            Job job = new Job(schedule[next], files[schedule[next]]);
+            job.result.setBytes(job.file.length());
+
+            try {
+                job.extracted = parsedFileCache.get(job.file);
+                if (job.extracted == null) {
+                    job.content = Files.readAllBytes(job.file.toPath());
+                }
+            } catch (Exception e) {
+                job.result.setError(e.getMessage());
+            }
+
+            job.result.addProcessingNanos(System.nanoTime() - start);
+            readStage.recordItem(start, job.content == null ? 0 : job.content.length);
+            put(rawFiles, job, readStage);
+        }
+    }
+
+    private void parse(BlockingQueue<Job> rawFiles, BlockingQueue<Job> extractedFiles) throws InterruptedException {
+        for (Job job = take(rawFiles, parseStage); job != END; job = take(rawFiles, parseStage)) {
+            long start = System.nanoTime();
+
+            if (job.content != null) {
+                try {
+                    job.extracted = ExcelFileProcessor.extractFile(job.file.getName(), job.content, workbookReader);
+                    parsedFileCache.put(job.file, job.extracted);
+                } catch (Exception e) {
+                    job.result.setError(e.getMessage());
+                }
+                job.content = null;
+            }
+
+            job.result.addProcessingNanos(System.nanoTime() - start);
+            parseStage.recordItem(start, job.extracted == null ? 0 : job.extracted.getRowCount());
+            put(extractedFiles, job, parseStage);
+        }
+    }
+
+    private void aggregate(BlockingQueue<Job> extractedFiles, StudentStore local,
+                           ExcelFileProcessor.ProcessingResult[] results) throws InterruptedException {
+
+        for (Job job = take(extractedFiles, aggregateStage); job != END; job = take(extractedFiles, aggregateStage)) {
+            long start = System.nanoTime();
+
+            if (job.extracted != null) {
+                try {
+                    ExcelFileProcessor.applyExtractedFile(job.extracted, local, job.result);
+                } catch (Exception e) {
+                    job.result.setError(e.getMessage());
+                }
+            }
+            job.result.addProcessingNanos(System.nanoTime() - start);
+            results[job.index] = job.result;
+
+            aggregateStage.recordItem(start, job.extracted == null ? 0 : job.extracted.getRowCount());
+        }
+    }
+
+    private static Job take(BlockingQueue<Job> queue, StageMetrics consumer) throws InterruptedException {
+        int depth = queue.size();
+        long start = System.nanoTime();
+        Job job = queue.take();
+        consumer.recordInputWait(System.nanoTime() - start, depth);
+        return job;
+    }
+
+    private static void put(BlockingQueue<Job> queue, Job job, StageMetrics producer) throws InterruptedException {
+        long start = System.nanoTime();
+        queue.put(job);
+        producer.recordOutputWait(System.nanoTime() - start);
+    }
+
+    private static void signalEnd(BlockingQueue<Job> queue, int consumers) throws InterruptedException {
+        for (int i = 0; i < consumers; i++) {
+            queue.put(END);
+        }
+    }
+
+    private static class Job {
+        final int index;
+        final File file;
+        final ExcelFileProcessor.ProcessingResult result;
+        byte[] content;
+        ExtractedFile extracted;
+
+        Job(int index, File file) {
+            this.index = index;
+            this.file = file;
+            this.result = file == null ? null : new ExcelFileProcessor.ProcessingResult(file.getName(), index);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package pipeline;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+
+public class StageMetrics {
+
+    private final String name;
+    private final String unit;
+    private final int workers;
+
+    private final AtomicLong items = new AtomicLong();
+    private final AtomicLong units = new AtomicLong();
+    private final AtomicLong busyNanos = new AtomicLong();
+    private final AtomicLong inputWaitNanos = new AtomicLong();
+    private final AtomicLong outputWaitNanos = new AtomicLong();
+    private final AtomicLong depthSum = new AtomicLong();
+    private final AtomicLong depthSamples = new AtomicLong();
+    private final LongAccumulator maxDepth = new LongAccumulator(Math::max, 0);
+    private final LongAccumulator firstStart = new LongAccumulator(Math::min, Long.MAX_VALUE);
+    private final LongAccumulator lastEnd = new LongAccumulator(Math::max, Long.MIN_VALUE);
+
+    public StageMetrics(String name, String unit, int workers) {
+        this.name = name;
+        this.unit = unit;
+        this.workers = workers;
+    }
+
+    public void recordItem(long startNanos, long unitCount) {
+        long end = System.nanoTime();
+        items.incrementAndGet();
+        units.addAndGet(unitCount);
+        busyNanos.addAndGet(end - startNanos);
+        firstStart.accumulate(startNanos);
+        lastEnd.accumulate(end);
+    }
+
+    public void recordInputWait(long nanos, int queueDepth) {
+        inputWaitNanos.addAndGet(nanos);
+        depthSum.addAndGet(queueDepth);
+        depthSamples.incrementAndGet();
+        maxDepth.accumulate(queueDepth);
+    }
+
+    public void recordOutputWait(long nanos) {
+        outputWaitNanos.addAndGet(nanos);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getWorkers() {
+        return workers;
+    }
+
+    public long getItems() {
+        return items.get();
+    }
+
+    public long getUnits() {
+        return units.get();
+    }
+
+    public String getUnit() {
+        return unit;
+    }
+
+    public long getBusyMillis() {
+        return busyNanos.get() / 1_000_000;
+    }
+
+    public long getInputWaitMillis() {
+        return inputWaitNanos.get() / 1_000_000;
+    }
+
+    public long getOutputWaitMillis() {
+        return outputWaitNanos.get() / 1_000_000;
+    }
+
+    public double getAverageQueueDepth() {
+        long samples = depthSamples.get();
+        return samples == 0 ? 0 : (double) depthSum.get() / samples;
+    }
+
+    public long getMaxQueueDepth() {
+        return maxDepth.get();
+    }
+
+    public double getUnitsPerSecond() {
+        long elapsed = lastEnd.get() - firstStart.get();
+        return elapsed <= 0 ? 0 : units.get() * 1e9 / elapsed;
+    }
+
+    public double getUtilization() {
+        long elapsed = lastEnd.get() - firstStart.get();
+        return elapsed <= 0 ? 0 : (double) busyNanos.get() / ((double) elapsed * workers);
+    }
+}
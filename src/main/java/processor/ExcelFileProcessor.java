@@ -1,90 +1,244 @@
 package processor;
 
-import model.StudentRecord;
-import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import cache.ParsedFileCache;
+import model.ExtractedFile;
+import model.ExtractedSheet;
+import model.NameMatcher;
+import model.SheetClass;
+import model.StudentStore;
+import org.apache.poi.poifs.filesystem.FileMagic;
+import reader.DelimitedTextReader;
+import reader.HssfEventReader;
+import reader.SheetHandlerFactory;
+import reader.SheetRowHandler;
+import reader.WorkbookReader;
+import util.ExcelUtils;
+import util.Instrumentation;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
-import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 
 public class ExcelFileProcessor {
 
-    public static ProcessingResult processFilePass1(File file,
-                                                    Map<String, StudentRecord> globalStudentMap,
-                                                    Map<String, String> nameToEmailMap) {
-        ProcessingResult result = new ProcessingResult(file.getName());
+    private static final WorkbookReader DELIMITED_TEXT_READER = new DelimitedTextReader();
+    private static final WorkbookReader TAB_SEPARATED_READER = new DelimitedTextReader((byte) '\t');
+    private static final WorkbookReader HSSF_EVENT_READER = new HssfEventReader();
+
+    public static ProcessingResult processFile(File file, WorkbookReader reader, ParsedFileCache cache,
+                                               StudentStore store) {
+        return processFile(file, -1, reader, cache, store);
+    }
+
+    public static ProcessingResult processFile(File file, int fileIndex, WorkbookReader reader, ParsedFileCache cache,
+                                               StudentStore store) {
+        ProcessingResult result = new ProcessingResult(file.getName(), fileIndex);
+        long start = System.nanoTime();
+        result.setBytes(file.length());
 
         try {
-            processFileInternal(file, globalStudentMap, nameToEmailMap, true, result);
+            ExtractedFile extracted = extractFile(file, reader, cache);
+            applyExtractedFile(extracted, store, result);
         } catch (Exception e) {
             result.setError(e.getMessage());
         }
 
+        result.addProcessingNanos(System.nanoTime() - start);
         return result;
     }
 
-    public static ProcessingResult processFilePass2(File file,
-                                                    Map<String, StudentRecord> globalStudentMap,
-                                                    Map<String, String> nameToEmailMap) {
-        ProcessingResult result = new ProcessingResult(file.getName());
+    public static ProcessingResult resolveDeferredNames(ProcessingResult parsed, StudentStore store,
+                                                        NameMatcher matcher) {
+        Instrumentation.Span span = Instrumentation.start(Instrumentation.NAME_RESOLUTION);
+        ProcessingResult result = new ProcessingResult(parsed.getFileName(), parsed.getFileIndex());
+        BitSet processedInFile = new BitSet();
 
-        try {
-            processFileInternal(file, globalStudentMap, nameToEmailMap, false, result);
-        } catch (Exception e) {
-            result.setError(e.getMessage());
+        for (ExtractedSheet sheet : parsed.getDeferredNameSheets()) {
+            int rowsProcessed = SheetProcessor.resolveDeferredNames(
+                    sheet.getNames(), processedInFile, store, matcher, result.getFuzzyMatches());
+
+            result.addProcessedRows(rowsProcessed);
+            if (rowsProcessed > 0) {
+                result.incrementSheetsProcessed();
+            }
         }
 
+        if (result.getFileIndex() >= 0) {
+            store.markAppearances(processedInFile, result.getFileIndex());
+        }
+
+        result.setTotalSheets(parsed.getTotalSheets());
+        result.setSuccess(true);
+        span.stop(result.getRowsProcessed());
         return result;
     }
 
-    private static void processFileInternal(File file,
-                                            Map<String, StudentRecord> globalStudentMap,
-                                            Map<String, String> nameToEmailMap,
-                                            boolean pass1,
-                                            ProcessingResult result) throws Exception {
+    public static ExtractedFile extractFile(File file, WorkbookReader reader, ParsedFileCache cache) throws Exception {
+        ExtractedFile extracted = cache.get(file);
+        if (extracted == null) {
+            extracted = extractFile(file, reader);
+            cache.put(file, extracted);
+        }
+        return extracted;
+    }
+
+    public static ExtractedFile extractFile(File file, WorkbookReader reader) throws Exception {
+        WorkbookReader fileReader = readerFor(file.getName(), FileMagic.valueOf(file), reader);
+        return extract(file.getName(), handlers -> fileReader.read(file, handlers));
+    }
+
+    public static ExtractedFile extractFile(String fileName, byte[] content, WorkbookReader reader) throws Exception {
+        WorkbookReader fileReader = readerFor(fileName, FileMagic.valueOf(content), reader);
+        return extract(fileName, handlers -> fileReader.read(new ByteArrayInputStream(content), handlers));
+    }
 
-        Set<String> processedInFile = ConcurrentHashMap.newKeySet();
+    private static WorkbookReader readerFor(String fileName, FileMagic magic, WorkbookReader xlsxReader)
+            throws IOException {
+        switch (magic) {
+            case OOXML:
+                return xlsxReader;
+            case OLE2:
+                return HSSF_EVENT_READER;
+            case UNKNOWN:
+                if (ExcelUtils.isTabSeparatedFile(fileName)) {
+                    return TAB_SEPARATED_READER;
+                }
+                if (ExcelUtils.isDelimitedTextFile(fileName)) {
+                    return DELIMITED_TEXT_READER;
+                }
+                throw new IOException("Unsupported file format");
+            default:
+                throw new IOException("Unsupported file format: " + magic);
+        }
+    }
 
-        try (FileInputStream fis = new FileInputStream(file);
-             Workbook workbook = new XSSFWorkbook(fis)) {
+    private static ExtractedFile extract(String fileName, WorkbookSource source) throws Exception {
+        Instrumentation.Span span = Instrumentation.start(Instrumentation.FILE_EXTRACT);
+        Map<Integer, ExtractedSheet> sheetsByIndex = new ConcurrentSkipListMap<>();
+        Map<Integer, SheetClass> classesByIndex = new ConcurrentHashMap<>();
 
-            int numberOfSheets = workbook.getNumberOfSheets();
-            result.setTotalSheets(numberOfSheets);
+        int numberOfSheets = source.read((sheetIndex, sheetName) -> {
+            SheetProcessor sheetProcessor = new SheetProcessor(sheetName);
 
-            for (int sheetIndex = 0; sheetIndex < numberOfSheets; sheetIndex++) {
-                Sheet sheet = workbook.getSheetAt(sheetIndex);
+            return new SheetRowHandler() {
+                @Override
+                public void row(int rowNum, String[] cells) {
+                    sheetProcessor.acceptRow(rowNum, cells);
+                }
 
-                if (sheet.getPhysicalNumberOfRows() == 0) {
-                    continue;
+                @Override
+                public boolean isDone() {
+                    return sheetProcessor.isDone();
                 }
 
-                int rowsProcessed = SheetProcessor.processSheet(
-                        sheet, file.getName(), processedInFile, globalStudentMap,
-                        nameToEmailMap, pass1);
+                @Override
+                public boolean wantsColumn(int column) {
+                    return sheetProcessor.wantsColumn(column);
+                }
 
-                result.addProcessedRows(rowsProcessed);
-                if (rowsProcessed > 0) {
-                    result.incrementSheetsProcessed();
+                @Override
+                public void endSheet() {
+                    ExtractedSheet sheet = sheetProcessor.finish();
+                    if (sheet != null && sheet.getRowCount() > 0) {
+                        sheetsByIndex.put(sheetIndex, sheet);
+                    }
+                    classesByIndex.put(sheetIndex, sheetProcessor.getSheetClass());
                 }
+            };
+        });
+
+        SheetClass[] sheetClasses = new SheetClass[numberOfSheets];
+        for (int i = 0; i < numberOfSheets; i++) {
+            sheetClasses[i] = classesByIndex.getOrDefault(i, SheetClass.IRRELEVANT);
+        }
+
+        ExtractedFile extracted = new ExtractedFile(fileName, numberOfSheets,
+                new ArrayList<>(sheetsByIndex.values()), sheetClasses);
+        span.stop(extracted.getRowCount());
+        return extracted;
+    }
+
+    public static void applyExtractedFile(ExtractedFile extracted, StudentStore store,
+                                           ProcessingResult result) {
+
+        Instrumentation.Span span = Instrumentation.start(Instrumentation.FILE_AGGREGATE);
+        BitSet processedInFile = new BitSet();
+        BitSet observedInFile = new BitSet();
+
+        for (ExtractedSheet sheet : extracted.getSheets()) {
+            if (!sheet.isEmailBearing()) {
+                result.addDeferredNameSheet(sheet);
+                continue;
+            }
+
+            SheetProcessor.observeEmailRows(sheet, observedInFile, store);
+            int rowsProcessed = SheetProcessor.applyEmailRows(sheet, processedInFile, store);
+
+            result.addProcessedRows(rowsProcessed);
+            if (rowsProcessed > 0) {
+                result.incrementSheetsProcessed();
             }
+        }
 
-            result.setSuccess(true);
+        if (result.getFileIndex() >= 0) {
+            store.markAppearances(processedInFile, result.getFileIndex());
         }
+
+        result.setTotalSheets(extracted.getTotalSheets());
+        result.setRowsRead(extracted.getRowCount());
+        result.setSuccess(true);
+        span.stop(result.getRowsProcessed());
+    }
+
+    public static int[] largestFirst(File[] files) {
+        long[] sizes = new long[files.length];
+        Integer[] order = new Integer[files.length];
+        for (int i = 0; i < files.length; i++) {
+            sizes[i] = files[i].length();
+            order[i] = i;
+        }
+
+        Arrays.sort(order, (a, b) -> Long.compare(sizes[b], sizes[a]));
+
+        int[] schedule = new int[files.length];
+        for (int i = 0; i < order.length; i++) {
+            schedule[i] = order[i];
+        }
+        return schedule;
+    }
+
+    private interface WorkbookSource {
+        int read(SheetHandlerFactory handlers) throws Exception;
     }
 
     public static class ProcessingResult {
         private final String fileName;
+        private final int fileIndex;
         private int totalSheets;
         private int sheetsProcessed;
         private int rowsProcessed;
+        private int rowsRead;
+        private long bytes;
+        private long processingNanos;
+        private final List<ExtractedSheet> deferredNameSheets = new ArrayList<>();
+        private final List<String> fuzzyMatches = new ArrayList<>();
         private boolean success;
         private String error;
 
         public ProcessingResult(String fileName) {
+            this(fileName, -1);
+        }
+
+        public ProcessingResult(String fileName, int fileIndex) {
             this.fileName = fileName;
+            this.fileIndex = fileIndex;
         }
 
         public void setTotalSheets(int totalSheets) {
@@ -99,6 +253,22 @@ public class ExcelFileProcessor {
             this.rowsProcessed += rows;
         }
 
+        public void setRowsRead(int rowsRead) {
+            this.rowsRead = rowsRead;
+        }
+
+        public void setBytes(long bytes) {
+            this.bytes = bytes;
+        }
+
+        public void addProcessingNanos(long nanos) {
+            this.processingNanos += nanos;
+        }
+
+        public void addDeferredNameSheet(ExtractedSheet sheet) {
+            this.deferredNameSheets.add(sheet);
+        }
+
         public void setSuccess(boolean success) {
             this.success = success;
         }
@@ -112,10 +282,38 @@ public class ExcelFileProcessor {
             return fileName;
         }
 
+        public int getFileIndex() {
+            return fileIndex;
+        }
+
+        public int getTotalSheets() {
+            return totalSheets;
+        }
+
+        public List<ExtractedSheet> getDeferredNameSheets() {
+            return deferredNameSheets;
+        }
+
+        public List<String> getFuzzyMatches() {
+            return fuzzyMatches;
+        }
+
         public int getRowsProcessed() {
             return rowsProcessed;
         }
 
+        public int getRowsRead() {
+            return rowsRead;
+        }
+
+        public long getBytes() {
+            return bytes;
+        }
+
+        public long getProcessingNanos() {
+            return processingNanos;
+        }
+
         public boolean isSuccess() {
             return success;
         }
@@ -124,6 +322,11 @@ public class ExcelFileProcessor {
             if (success && rowsProcessed > 0) {
                 System.out.println(String.format("✓ %s: %d students from %d sheet(s)",
                         fileName, rowsProcessed, sheetsProcessed));
+            } else if (!success) {
+                System.err.println(String.format("✗ %s: %s", fileName, error));
+            }
+            for (String fuzzyMatch : fuzzyMatches) {
+                System.out.println("    ≈ " + fuzzyMatch);
             }
         }
     }
@@ -0,0 +1,84 @@
+package processor;
+
+import util.ExcelUtils;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class HeaderLayoutCache {
+
+    private static final int MAX_LAYOUTS = 4096;
+
+    private static final Map<String, HeaderLayout> LAYOUTS = new ConcurrentHashMap<>();
+    private static final AtomicInteger HITS = new AtomicInteger();
+    private static final AtomicInteger MISSES = new AtomicInteger();
+
+    static HeaderLayout layoutFor(String[] headerCells) {
+        String signature = ExcelUtils.headerSignature(headerCells);
+
+        HeaderLayout layout = LAYOUTS.get(signature);
+        if (layout != null) {
+            HITS.incrementAndGet();
+            return layout;
+        }
+
+        MISSES.incrementAndGet();
+        layout = HeaderLayout.classify(headerCells);
+        if (LAYOUTS.size() < MAX_LAYOUTS) {
+            LAYOUTS.putIfAbsent(signature, layout);
+        }
+        return layout;
+    }
+
+    public static int getHits() {
+        return HITS.get();
+    }
+
+    public static int getMisses() {
+        return MISSES.get();
+    }
+
+    static class HeaderLayout {
+        private static final int[] NO_COLUMNS = new int[0];
+
+        final int nameIndex;
+        final int emailIndex;
+        final int[] sniffColumns;
+
+        private HeaderLayout(int nameIndex, int emailIndex, int[] sniffColumns) {
+            this.nameIndex = nameIndex;
+            this.emailIndex = emailIndex;
+            this.sniffColumns = sniffColumns;
+        }
+
+        static HeaderLayout classify(String[] headerCells) {
+            int nameIndex = -1;
+            int emailIndex = -1;
+            int[] nonEmptyColumns = new int[headerCells.length];
+            int nonEmptyCount = 0;
+
+            for (int colIndex = 0; colIndex < headerCells.length; colIndex++) {
+                String headerValue = headerCells[colIndex] == null ? "" : headerCells[colIndex].trim();
+                if (headerValue.isEmpty()) continue;
+
+                nonEmptyColumns[nonEmptyCount++] = colIndex;
+
+                if (nameIndex == -1 && ExcelUtils.isNameColumn(headerValue)) {
+                    nameIndex = colIndex;
+                }
+                if (emailIndex == -1 && ExcelUtils.isEmailColumn(headerValue)) {
+                    emailIndex = colIndex;
+                }
+            }
+
+            int[] sniffColumns = emailIndex == -1 ? Arrays.copyOf(nonEmptyColumns, nonEmptyCount) : NO_COLUMNS;
+            return new HeaderLayout(nameIndex, emailIndex, sniffColumns);
+        }
+
+        boolean needsEmailSniff() {
+            return sniffColumns.length > 0;
+        }
+    }
+}
@@ -1,197 +1,246 @@
 package processor;
 
-import model.StudentRecord;
-import org.apache.poi.ss.usermodel.*;
+import model.ExtractedSheet;
+import model.NameMatcher;
+import model.SheetClass;
+import model.StudentStore;
 import util.ExcelUtils;
+import util.Instrumentation;
 
-import java.util.Map;
-import java.util.Set;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
 
 public class SheetProcessor {
 
-    public static int processSheet(Sheet sheet, String fileName,
-                                   Set<String> processedEmails,
-                                   Map<String, StudentRecord> studentMap,
-                                   Map<String, String> nameToEmailMap,
-                                   boolean pass1) {
+    private static final int HEADER_SCAN_ROWS = 20;
+    private static final int EMAIL_SNIFF_ROWS = 10;
 
-        Row headerRow = findHeaderRow(sheet);
-        if (headerRow == null) {
-            return 0;
+    private final String sheetName;
+
+    private final List<SheetRow> pendingRows = new ArrayList<>();
+    private SheetRow headerRow;
+    private HeaderLayoutCache.HeaderLayout headerLayout;
+    private ColumnIndices indices;
+    private ExtractedSheet extracted;
+    private boolean skipSheet;
+    private long headerDetectionNanos;
+
+    public SheetProcessor(String sheetName) {
+        this.sheetName = sheetName;
+    }
+
+    public void acceptRow(int rowNum, String[] cells) {
+        if (skipSheet) {
+            return;
         }
 
-        ColumnIndices indices = findColumnIndices(headerRow, sheet);
+        if (indices != null) {
+            processRow(cells);
+            return;
+        }
 
-        if (pass1) {
-            if (indices.emailIndex == -1) {
-                return 0;
+        if (headerRow == null) {
+            long start = System.nanoTime();
+            if (rowNum > HEADER_SCAN_ROWS) {
+                skipSheet = true;
+            } else if (ExcelUtils.isLikelyHeaderRow(cells)) {
+                headerRow = new SheetRow(rowNum, cells);
+                headerLayout = HeaderLayoutCache.layoutFor(cells);
             }
-        } else {
-            if (indices.emailIndex != -1 || indices.nameIndex == -1) {
-                return 0;
+            headerDetectionNanos += System.nanoTime() - start;
+
+            if (headerLayout != null && !headerLayout.needsEmailSniff()) {
+                resolveColumns();
             }
+            return;
         }
 
-        return processRows(sheet, headerRow.getRowNum(), indices, processedEmails,
-                studentMap, nameToEmailMap, pass1);
+        if (rowNum > headerRow.rowNum + EMAIL_SNIFF_ROWS) {
+            resolveColumns();
+            acceptRow(rowNum, cells);
+            return;
+        }
+
+        pendingRows.add(new SheetRow(rowNum, cells));
     }
 
-    private static Row findHeaderRow(Sheet sheet) {
-        for (int i = 0; i <= Math.min(20, sheet.getLastRowNum()); i++) {
-            Row row = sheet.getRow(i);
-            if (ExcelUtils.isLikelyHeaderRow(row)) {
-                return row;
-            }
-        }
-        return null;
+    public boolean isDone() {
+        return skipSheet;
     }
 
-    private static ColumnIndices findColumnIndices(Row headerRow, Sheet sheet) {
-        int nameIndex = -1;
-        int emailIndex = -1;
-        int possibleEmailIndex = -1;
+    public boolean wantsColumn(int column) {
+        return indices == null || column == indices.nameIndex || column == indices.emailIndex;
+    }
 
-        for (Cell cell : headerRow) {
-            String headerValue = ExcelUtils.getCellValueAsString(cell).trim();
-            if (headerValue.isEmpty()) continue;
+    public ExtractedSheet finish() {
+        if (headerRow == null) {
+            Instrumentation.record(Instrumentation.SHEET_HEADER_DETECTION, headerDetectionNanos, 0);
+        } else if (!skipSheet && indices == null) {
+            resolveColumns();
+        }
+        return skipSheet ? null : extracted;
+    }
 
-            int colIndex = cell.getColumnIndex();
+    public SheetClass getSheetClass() {
+        if (skipSheet || extracted == null || extracted.getRowCount() == 0) {
+            return SheetClass.IRRELEVANT;
+        }
+        return extracted.isEmailBearing() ? SheetClass.EMAIL_BEARING : SheetClass.NAME_ONLY;
+    }
 
-            if (nameIndex == -1 && ExcelUtils.isNameColumn(headerValue)) {
-                nameIndex = colIndex;
+    private void resolveColumns() {
+        long start = System.nanoTime();
+        indices = findColumnIndices(headerLayout, pendingRows);
+        Instrumentation.record(Instrumentation.SHEET_HEADER_DETECTION,
+                headerDetectionNanos + System.nanoTime() - start, 0);
+        skipSheet = indices.emailIndex == -1 && indices.nameIndex == -1;
+
+        if (!skipSheet) {
+            extracted = new ExtractedSheet(sheetName, indices.emailIndex != -1);
+            for (SheetRow row : pendingRows) {
+                processRow(row.cells);
             }
+        }
+        pendingRows.clear();
+    }
 
-            if (emailIndex == -1 && ExcelUtils.isEmailColumn(headerValue)) {
-                emailIndex = colIndex;
-            }
+    private static ColumnIndices findColumnIndices(HeaderLayoutCache.HeaderLayout layout, List<SheetRow> sampleRows) {
+        if (layout.emailIndex != -1 || !layout.needsEmailSniff()) {
+            return new ColumnIndices(layout.nameIndex, layout.emailIndex);
+        }
+        return new ColumnIndices(layout.nameIndex, sniffEmailColumn(layout.sniffColumns, sampleRows));
+    }
+
+    private static int sniffEmailColumn(int[] columns, List<SheetRow> sampleRows) {
+        int[] emailCounts = new int[columns.length];
 
-            if (emailIndex == -1 && possibleEmailIndex == -1) {
-                if (containsEmailInColumn(sheet, headerRow.getRowNum(), colIndex)) {
-                    possibleEmailIndex = colIndex;
+        for (SheetRow row : sampleRows) {
+            for (int i = 0; i < columns.length; i++) {
+                String value = cellAt(row.cells, columns[i]);
+                if (value.indexOf('@') >= 0 && ExcelUtils.isValidEmail(value)) {
+                    emailCounts[i]++;
                 }
             }
         }
 
-        if (emailIndex == -1 && possibleEmailIndex != -1) {
-            emailIndex = possibleEmailIndex;
+        for (int i = 0; i < columns.length; i++) {
+            if (emailCounts[i] >= 2) {
+                return columns[i];
+            }
         }
-
-        return new ColumnIndices(nameIndex, emailIndex);
+        return -1;
     }
 
-    private static boolean containsEmailInColumn(Sheet sheet, int headerRowNum, int colIndex) {
-        int emailCount = 0;
-        int checkRows = Math.min(10, sheet.getLastRowNum() - headerRowNum);
+    private void processRow(String[] cells) {
+        if (isEmptyRow(cells)) return;
 
-        for (int i = 1; i <= checkRows; i++) {
-            Row row = sheet.getRow(headerRowNum + i);
-            if (row == null) continue;
+        String name = extractName(cells, indices.nameIndex);
+        if (name.isEmpty()) return;
 
-            Cell cell = row.getCell(colIndex);
-            String value = ExcelUtils.getCellValueAsString(cell).trim();
+        if (indices.emailIndex == -1) {
+            extracted.addRow(name, null);
+            return;
+        }
 
-            if (ExcelUtils.isValidEmail(value)) {
-                emailCount++;
-            }
+        String email = extractEmail(cells, indices.emailIndex);
+        if (email.isEmpty() || !ExcelUtils.isValidEmail(email)) {
+            return;
         }
 
-        return emailCount >= 2;
+        extracted.addRow(name, email);
     }
 
-    private static int processRows(Sheet sheet, int startRow, ColumnIndices indices,
-                                   Set<String> processedEmails,
-                                   Map<String, StudentRecord> studentMap,
-                                   Map<String, String> nameToEmailMap,
-                                   boolean pass1) {
-        int rowsProcessed = 0;
+    public static int applyEmailRows(ExtractedSheet sheet, BitSet processedInFile, StudentStore store) {
+        int rowsApplied = 0;
 
-        for (int i = startRow + 1; i <= sheet.getLastRowNum(); i++) {
-            Row row = sheet.getRow(i);
-            if (row == null || isEmptyRow(row)) continue;
+        for (int row = 0; row < sheet.getRowCount(); row++) {
+            String name = sheet.getName(row);
+            int id = store.intern(sheet.getEmail(row), name);
 
-            String name = extractName(row, indices.nameIndex);
-            if (name.isEmpty()) continue;
+            if (!processedInFile.get(id)) {
+                processedInFile.set(id);
+                store.addCount(id, 1);
+                rowsApplied++;
+            }
+        }
 
-            String normalizedName = normalizeName(name);
-            String email;
+        return rowsApplied;
+    }
 
-            if (pass1) {
-                email = extractEmail(row, indices.emailIndex);
-                if (email.isEmpty() || !ExcelUtils.isValidEmail(email)) {
-                    continue;
-                }
+    public static void observeEmailRows(ExtractedSheet sheet, BitSet observedInFile, StudentStore store) {
+        for (int row = 0; row < sheet.getRowCount(); row++) {
+            store.observe(sheet.getEmail(row), sheet.getName(row), observedInFile);
+        }
+    }
 
-                nameToEmailMap.putIfAbsent(normalizedName, email);
-            } else {
-                email = nameToEmailMap.get(normalizedName);
-                if (email == null) {
-                    email = ExcelUtils.generateEmailFromName(name);
-                    nameToEmailMap.put(normalizedName, email);
-                }
+    public static int resolveDeferredNames(List<String> names, BitSet processedInFile, StudentStore store,
+                                           NameMatcher matcher, List<String> fuzzyMatches) {
+        int rowsResolved = 0;
+
+        for (String name : names) {
+            NameMatcher.Match match = matcher.match(name);
+            int id = match.getId();
+            if (match.getType() == NameMatcher.MatchType.UNMATCHED) {
+                id = store.intern(ExcelUtils.generateEmailFromName(name), name);
+                store.mapName(ExcelUtils.normalizeName(name), id);
+            } else if (match.getType() == NameMatcher.MatchType.EXACT) {
+                store.offerDisplayName(id, name);
+            } else if (match.isFuzzy() && fuzzyMatches != null) {
+                fuzzyMatches.add(String.format("%s → %s <%s> (%s)", name, store.nameOf(id), store.emailOf(id),
+                        match.getType().name().toLowerCase().replace('_', ' ')));
             }
 
-            if (processedEmails.contains(email)) {
-                continue;
+            if (!processedInFile.get(id)) {
+                processedInFile.set(id);
+                store.addCount(id, 1);
+                rowsResolved++;
             }
-
-            processedEmails.add(email);
-            updateStudentMap(studentMap, email, name);
-            rowsProcessed++;
         }
 
-        return rowsProcessed;
+        return rowsResolved;
     }
 
-    private static String normalizeName(String name) {
-        return name.toLowerCase()
-                .trim()
-                .replaceAll("[^a-z]", "")
-                .replaceAll("\\s+", "");
-    }
-
-    private static boolean isEmptyRow(Row row) {
-        for (Cell cell : row) {
-            String value = ExcelUtils.getCellValueAsString(cell).trim();
-            if (!value.isEmpty() && !value.matches("\\d+")) {
+    private static boolean isEmptyRow(String[] cells) {
+        for (String cell : cells) {
+            if (cell != null && !ExcelUtils.isBlankOrDigits(cell)) {
                 return false;
             }
         }
         return true;
     }
 
-    private static String extractName(Row row, int nameIndex) {
+    private static String extractName(String[] cells, int nameIndex) {
         if (nameIndex == -1) return "";
 
-        Cell nameCell = row.getCell(nameIndex);
-        String name = ExcelUtils.getCellValueAsString(nameCell).trim();
+        String name = cellAt(cells, nameIndex).trim();
 
-        if (name.isEmpty() || name.matches("\\d+") || name.length() < 3) {
+        if (name.length() < 3 || ExcelUtils.isDigits(name)) {
             return "";
         }
 
         return name;
     }
 
-    private static String extractEmail(Row row, int emailIndex) {
+    private static String extractEmail(String[] cells, int emailIndex) {
         if (emailIndex == -1) return "";
 
-        Cell emailCell = row.getCell(emailIndex);
-        return ExcelUtils.getCellValueAsString(emailCell).trim().toLowerCase();
+        return cellAt(cells, emailIndex).trim().toLowerCase();
     }
 
-    private static void updateStudentMap(Map<String, StudentRecord> studentMap,
-                                         String email, String name) {
-        studentMap.compute(email, (key, existing) -> {
-            if (existing == null) {
-                return new StudentRecord(name, email);
-            } else {
-                existing.incrementCount();
-                if (!name.isEmpty() && !name.matches("\\d+")) {
-                    existing.setName(name);
-                }
-                return existing;
-            }
-        });
+    private static String cellAt(String[] cells, int colIndex) {
+        if (colIndex >= cells.length || cells[colIndex] == null) return "";
+        return cells[colIndex];
+    }
+
+    private static class SheetRow {
+        final int rowNum;
+        final String[] cells;
+
+        SheetRow(int rowNum, String[] cells) {
+            this.rowNum = rowNum;
+            this.cells = cells;
+        }
     }
 
     private static class ColumnIndices {
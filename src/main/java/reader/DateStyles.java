@@ -0,0 +1,105 @@
+package reader;
+
+import org.apache.poi.ss.usermodel.BuiltinFormats;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+class DateStyles {
+
+    static final DateStyles NONE = new DateStyles(new boolean[0]);
+
+    private final boolean[] dateFormatted;
+
+    private DateStyles(boolean[] dateFormatted) {
+        this.dateFormatted = dateFormatted;
+    }
+
+    static DateStyles from(StylesTable styles) {
+        if (styles == null) return NONE;
+
+        boolean[] dateFormatted = new boolean[styles.getNumCellStyles()];
+        for (int i = 0; i < dateFormatted.length; i++) {
+            XSSFCellStyle style = styles.getStyleAt(i);
+            dateFormatted[i] = style != null &&
+                    DateUtil.isADateFormat(style.getDataFormat(), style.getDataFormatString());
+        }
+        return new DateStyles(dateFormatted);
+    }
+
+    static DateStyles parse(InputStream stylesXml) throws Exception {
+        NumberFormatHandler handler = new NumberFormatHandler();
+        XMLReader parser = XMLHelper.newXMLReader();
+        parser.setContentHandler(handler);
+        parser.parse(new InputSource(stylesXml));
+
+        boolean[] dateFormatted = new boolean[handler.cellFormatIds.size()];
+        for (int i = 0; i < dateFormatted.length; i++) {
+            int formatId = handler.cellFormatIds.get(i);
+            String format = handler.customFormats.get(formatId);
+            if (format == null) {
+                format = BuiltinFormats.getBuiltinFormat(formatId);
+            }
+            dateFormatted[i] = DateUtil.isADateFormat(formatId, format);
+        }
+        return new DateStyles(dateFormatted);
+    }
+
+    boolean isDateFormatted(int styleIndex, double value) {
+        if (styleIndex < 0 || styleIndex >= dateFormatted.length) return false;
+        return dateFormatted[styleIndex] && DateUtil.isValidExcelDate(value);
+    }
+
+    private static class NumberFormatHandler extends DefaultHandler {
+        private final Map<Integer, String> customFormats = new HashMap<>();
+        private final List<Integer> cellFormatIds = new ArrayList<>();
+        private boolean inNumFmts;
+        private boolean inCellXfs;
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            switch (localName) {
+                case "numFmts":
+                    inNumFmts = true;
+                    break;
+                case "numFmt":
+                    String id = attributes.getValue("numFmtId");
+                    if (inNumFmts && id != null) {
+                        customFormats.put(Integer.parseInt(id), attributes.getValue("formatCode"));
+                    }
+                    break;
+                case "cellXfs":
+                    inCellXfs = true;
+                    break;
+                case "xf":
+                    if (inCellXfs) {
+                        String formatId = attributes.getValue("numFmtId");
+                        cellFormatIds.add(formatId == null ? 0 : (int) (short) Integer.parseInt(formatId));
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) {
+            if (localName.equals("numFmts")) {
+                inNumFmts = false;
+            } else if (localName.equals("cellXfs")) {
+                inCellXfs = false;
+            }
+        }
+    }
+}
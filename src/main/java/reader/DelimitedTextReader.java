@@ -0,0 +1,251 @@
+package reader;
+
+import util.Instrumentation;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+public class DelimitedTextReader implements WorkbookReader {
+
+    private static final String SHEET_NAME = "Sheet1";
+    private static final int SNIFF_BYTES = 8192;
+    private static final int SNIFF_LINES = 5;
+    private static final byte QUOTE = '"';
+    private static final byte CR = '\r';
+    private static final byte LF = '\n';
+    private static final byte[] DELIMITERS = {',', '\t', ';', '|'};
+    private static final byte SNIFF = 0;
+
+    private final byte delimiter;
+
+    public DelimitedTextReader() {
+        this(SNIFF);
+    }
+
+    public DelimitedTextReader(byte delimiter) {
+        this.delimiter = delimiter;
+    }
+
+    @Override
+    public int read(File file, SheetHandlerFactory handlers) throws Exception {
+        Instrumentation.Span open = Instrumentation.start(Instrumentation.FILE_OPEN);
+        if (file.length() > Integer.MAX_VALUE) {
+            throw new IOException("Delimited file larger than 2 GB: " + file.getName());
+        }
+        ByteBuffer data = FileBuffers.read(file);
+        open.stop();
+
+        parse(data, delimiter, handlers);
+        return 1;
+    }
+
+    @Override
+    public int read(InputStream content, SheetHandlerFactory handlers) throws Exception {
+        Instrumentation.Span open = Instrumentation.start(Instrumentation.FILE_OPEN);
+        ByteBuffer data = ByteBuffer.wrap(content.readAllBytes());
+        open.stop();
+
+        parse(data, delimiter, handlers);
+        return 1;
+    }
+
+    private static void parse(ByteBuffer data, byte delimiter, SheetHandlerFactory handlers) {
+        Instrumentation.Span rowScan = Instrumentation.start(Instrumentation.SHEET_ROW_SCAN);
+        SheetRowHandler handler = handlers.startSheet(0, SHEET_NAME);
+        RowScanner scanner = new RowScanner(data, delimiter, handler);
+        scanner.scan();
+        handler.endSheet();
+        rowScan.stop(scanner.rowsEmitted);
+    }
+
+    static byte sniffDelimiter(ByteBuffer data, int from) {
+        int[] counts = new int[DELIMITERS.length];
+        int[] lines = new int[DELIMITERS.length];
+        int[] totals = new int[DELIMITERS.length];
+        boolean quoted = false;
+        boolean content = false;
+        int sampled = 0;
+        int end = Math.min(data.limit(), from + SNIFF_BYTES);
+
+        for (int i = from; i < end && sampled < SNIFF_LINES; i++) {
+            byte b = data.get(i);
+            if (!quoted && (b == LF || b == CR)) {
+                if (content) {
+                    tally(counts, lines, totals);
+                    sampled++;
+                }
+                content = false;
+                continue;
+            }
+
+            content = true;
+            if (b == QUOTE) {
+                quoted = !quoted;
+            } else if (!quoted) {
+                for (int d = 0; d < DELIMITERS.length; d++) {
+                    if (b == DELIMITERS[d]) counts[d]++;
+                }
+            }
+        }
+        if (content && sampled < SNIFF_LINES) {
+            tally(counts, lines, totals);
+        }
+
+        int best = 0;
+        for (int d = 1; d < DELIMITERS.length; d++) {
+            if (lines[d] > lines[best] || lines[d] == lines[best] && totals[d] > totals[best]) best = d;
+        }
+        return DELIMITERS[best];
+    }
+
+    private static void tally(int[] counts, int[] lines, int[] totals) {
+        for (int d = 0; d < counts.length; d++) {
+            if (counts[d] > 0) {
+                lines[d]++;
+                totals[d] += counts[d];
+            }
+            counts[d] = 0;
+        }
+    }
+
+    private static class RowScanner {
+        private final ByteBuffer data;
+        private final SheetRowHandler handler;
+        private final int limit;
+        private int position;
+        private byte delimiter;
+
+        private int[] starts = new int[16];
+        private int[] ends = new int[16];
+        private boolean[] escaped = new boolean[16];
+        private int fields;
+        private byte[] scratch = new byte[256];
+        private int rowsEmitted;
+
+        RowScanner(ByteBuffer data, byte delimiter, SheetRowHandler handler) {
+            this.data = data;
+            this.delimiter = delimiter;
+            this.handler = handler;
+            this.limit = data.limit();
+        }
+
+        void scan() {
+            if (limit >= 3 && data.get(0) == (byte) 0xEF && data.get(1) == (byte) 0xBB && data.get(2) == (byte) 0xBF) {
+                position = 3;
+            }
+            if (delimiter == SNIFF) {
+                delimiter = sniffDelimiter(data, position);
+            }
+
+            for (int rowNum = 0; position < limit && !handler.isDone(); rowNum++) {
+                scanRecord();
+                if (hasContent()) {
+                    handler.row(rowNum, cells());
+                    rowsEmitted++;
+                }
+            }
+        }
+
+        private void scanRecord() {
+            fields = 0;
+
+            while (true) {
+                if (position < limit && data.get(position) == QUOTE) {
+                    scanQuotedField();
+                } else {
+                    int start = position;
+                    while (position < limit) {
+                        byte b = data.get(position);
+                        if (b == delimiter || b == LF || b == CR) break;
+                        position++;
+                    }
+                    addField(start, position, false);
+                }
+
+                if (position < limit && data.get(position) == delimiter) {
+                    position++;
+                    continue;
+                }
+
+                if (position < limit && data.get(position) == CR) position++;
+                if (position < limit && data.get(position) == LF) position++;
+                return;
+            }
+        }
+
+        private void scanQuotedField() {
+            int start = ++position;
+            boolean hasEscapes = false;
+
+            while (position < limit) {
+                if (data.get(position) == QUOTE) {
+                    if (position + 1 < limit && data.get(position + 1) == QUOTE) {
+                        hasEscapes = true;
+                        position += 2;
+                        continue;
+                    }
+                    break;
+                }
+                position++;
+            }
+            addField(start, position, hasEscapes);
+
+            if (position < limit) position++;
+            while (position < limit) {
+                byte b = data.get(position);
+                if (b == delimiter || b == LF || b == CR) break;
+                position++;
+            }
+        }
+
+        private void addField(int start, int end, boolean hasEscapes) {
+            if (fields == starts.length) {
+                starts = Arrays.copyOf(starts, fields * 2);
+                ends = Arrays.copyOf(ends, fields * 2);
+                escaped = Arrays.copyOf(escaped, fields * 2);
+            }
+            starts[fields] = start;
+            ends[fields] = end;
+            escaped[fields] = hasEscapes;
+            fields++;
+        }
+
+        private boolean hasContent() {
+            for (int field = 0; field < fields; field++) {
+                if (ends[field] > starts[field]) return true;
+            }
+            return false;
+        }
+
+        private String[] cells() {
+            String[] cells = new String[fields];
+            for (int field = 0; field < fields; field++) {
+                if (ends[field] > starts[field] && handler.wantsColumn(field)) {
+                    cells[field] = decode(starts[field], ends[field], escaped[field]);
+                }
+            }
+            return cells;
+        }
+
+        private String decode(int start, int end, boolean hasEscapes) {
+            if (!hasEscapes && data.hasArray()) {
+                return new String(data.array(), data.arrayOffset() + start, end - start, StandardCharsets.UTF_8);
+            }
+
+            if (scratch.length < end - start) {
+                scratch = new byte[Math.max(scratch.length * 2, end - start)];
+            }
+            int length = 0;
+            for (int i = start; i < end; i++) {
+                byte b = data.get(i);
+                scratch[length++] = b;
+                if (b == QUOTE && hasEscapes) i++;
+            }
+            return new String(scratch, 0, length, StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package reader;
+
+import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import util.ExcelUtils;
+import util.Instrumentation;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+
+public class DomWorkbookReader implements WorkbookReader {
+
+    @Override
+    public int read(File file, SheetHandlerFactory handlers) throws Exception {
+        try (FileInputStream fis = new FileInputStream(file)) {
+            return read(fis, handlers);
+        }
+    }
+
+    @Override
+    public int read(InputStream content, SheetHandlerFactory handlers) throws Exception {
+        Instrumentation.Span open = Instrumentation.start(Instrumentation.FILE_OPEN);
+        try (Workbook workbook = new XSSFWorkbook(content)) {
+            open.stop();
+
+            int numberOfSheets = workbook.getNumberOfSheets();
+
+            for (int sheetIndex = 0; sheetIndex < numberOfSheets; sheetIndex++) {
+                Sheet sheet = workbook.getSheetAt(sheetIndex);
+
+                if (sheet.getPhysicalNumberOfRows() == 0) {
+                    continue;
+                }
+
+                Instrumentation.Span rowScan = Instrumentation.start(Instrumentation.SHEET_ROW_SCAN);
+                SheetRowHandler handler = handlers.startSheet(sheetIndex, sheet.getSheetName());
+                int rows = 0;
+                for (Row row : sheet) {
+                    handler.row(row.getRowNum(), toCells(row));
+                    rows++;
+                    if (handler.isDone()) break;
+                }
+                handler.endSheet();
+                rowScan.stop(rows);
+            }
+
+            return numberOfSheets;
+        }
+    }
+
+    private static String[] toCells(Row row) {
+        int lastCell = Math.max(0, row.getLastCellNum());
+        String[] cells = new String[lastCell];
+
+        for (Cell cell : row) {
+            cells[cell.getColumnIndex()] = ExcelUtils.getCellValueAsString(cell);
+        }
+
+        return cells;
+    }
+}
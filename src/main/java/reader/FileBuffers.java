@@ -0,0 +1,33 @@
+package reader;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+final class FileBuffers {
+
+    private static final long HEAP_READ_LIMIT = 64L << 20;
+
+    private FileBuffers() {
+    }
+
+    static ByteBuffer read(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > HEAP_READ_LIMIT) {
+                return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            }
+
+            ByteBuffer buffer = ByteBuffer.allocate((int) size);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) {
+                    throw new EOFException("File shrank while reading: " + file.getName());
+                }
+            }
+            return buffer.flip();
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package reader;
+
+import org.apache.poi.hssf.eventusermodel.FormatTrackingHSSFListener;
+import org.apache.poi.hssf.eventusermodel.HSSFEventFactory;
+import org.apache.poi.hssf.eventusermodel.HSSFListener;
+import org.apache.poi.hssf.eventusermodel.HSSFRequest;
+import org.apache.poi.hssf.eventusermodel.MissingRecordAwareHSSFListener;
+import org.apache.poi.hssf.eventusermodel.dummyrecord.LastCellOfRowDummyRecord;
+import org.apache.poi.hssf.record.BOFRecord;
+import org.apache.poi.hssf.record.BoolErrRecord;
+import org.apache.poi.hssf.record.BoundSheetRecord;
+import org.apache.poi.hssf.record.CellValueRecordInterface;
+import org.apache.poi.hssf.record.EOFRecord;
+import org.apache.poi.hssf.record.FormulaRecord;
+import org.apache.poi.hssf.record.LabelRecord;
+import org.apache.poi.hssf.record.LabelSSTRecord;
+import org.apache.poi.hssf.record.NumberRecord;
+import org.apache.poi.hssf.record.Record;
+import org.apache.poi.hssf.record.SSTRecord;
+import org.apache.poi.hssf.record.StringRecord;
+import org.apache.poi.poifs.filesystem.POIFSFileSystem;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.DateUtil;
+import util.Instrumentation;
+
+import java.io.File;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+public class HssfEventReader implements WorkbookReader {
+
+    @Override
+    public int read(File file, SheetHandlerFactory handlers) throws Exception {
+        Instrumentation.Span open = Instrumentation.start(Instrumentation.FILE_OPEN);
+        try (POIFSFileSystem fileSystem = new POIFSFileSystem(file, true)) {
+            open.stop();
+            return read(fileSystem, handlers);
+        }
+    }
+
+    @Override
+    public int read(InputStream content, SheetHandlerFactory handlers) throws Exception {
+        Instrumentation.Span open = Instrumentation.start(Instrumentation.FILE_OPEN);
+        try (POIFSFileSystem fileSystem = new POIFSFileSystem(content)) {
+            open.stop();
+            return read(fileSystem, handlers);
+        }
+    }
+
+    private static int read(POIFSFileSystem fileSystem, SheetHandlerFactory handlers) throws Exception {
+        RecordHandler recordHandler = new RecordHandler(handlers);
+        FormatTrackingHSSFListener formats =
+                new FormatTrackingHSSFListener(new MissingRecordAwareHSSFListener(recordHandler));
+        recordHandler.formats = formats;
+
+        HSSFRequest request = new HSSFRequest();
+        request.addListenerForAllRecords(formats);
+        new HSSFEventFactory().processWorkbookEvents(request, fileSystem);
+
+        recordHandler.endSheet();
+        return recordHandler.sheetsRead;
+    }
+
+    private static class RecordHandler implements HSSFListener {
+        private final SheetHandlerFactory handlers;
+        private final List<BoundSheetRecord> boundSheets = new ArrayList<>();
+        private final List<String> rowCells = new ArrayList<>();
+        private FormatTrackingHSSFListener formats;
+
+        private BoundSheetRecord[] sheetsByPosition;
+        private SSTRecord strings;
+        private SheetRowHandler handler;
+        private Instrumentation.Span rowScan;
+        private int depth;
+        private int sheetDepth;
+        private int sheetPosition;
+        private int sheetsRead;
+        private int rowsEmitted;
+        private int pendingStringColumn = -1;
+
+        RecordHandler(SheetHandlerFactory handlers) {
+            this.handlers = handlers;
+        }
+
+        @Override
+        public void processRecord(Record record) {
+            switch (record.getSid()) {
+                case BoundSheetRecord.sid:
+                    boundSheets.add((BoundSheetRecord) record);
+                    break;
+                case BOFRecord.sid:
+                    int type = ((BOFRecord) record).getType();
+                    if (++depth == 1 && type != BOFRecord.TYPE_WORKBOOK) {
+                        if (type == BOFRecord.TYPE_WORKSHEET) {
+                            startSheet();
+                        }
+                        sheetPosition++;
+                    }
+                    break;
+                case EOFRecord.sid:
+                    if (depth-- == sheetDepth) {
+                        endSheet();
+                    }
+                    break;
+                case SSTRecord.sid:
+                    strings = (SSTRecord) record;
+                    break;
+                case LabelSSTRecord.sid:
+                    LabelSSTRecord label = (LabelSSTRecord) record;
+                    setCell(label, () -> strings.getString(label.getSSTIndex()).getString());
+                    break;
+                case LabelRecord.sid:
+                    setCell((LabelRecord) record, ((LabelRecord) record)::getValue);
+                    break;
+                case NumberRecord.sid:
+                    NumberRecord number = (NumberRecord) record;
+                    setCell(number, () -> numberValue(number));
+                    break;
+                case BoolErrRecord.sid:
+                    BoolErrRecord boolErr = (BoolErrRecord) record;
+                    setCell(boolErr, () -> boolErr.isBoolean() ? String.valueOf(boolErr.getBooleanValue()) : "");
+                    break;
+                case FormulaRecord.sid:
+                    FormulaRecord formula = (FormulaRecord) record;
+                    if (formula.getCachedResultTypeEnum() == CellType.STRING) {
+                        pendingStringColumn = formula.getColumn();
+                    } else if (formula.getCachedResultTypeEnum() == CellType.NUMERIC) {
+                        setCell(formula, () -> SheetContentHandler.formatNumber(formula.getValue()));
+                    } else {
+                        setCell(formula, () -> "");
+                    }
+                    break;
+                case StringRecord.sid:
+                    if (pendingStringColumn >= 0) {
+                        setCell(pendingStringColumn, ((StringRecord) record)::getString);
+                        pendingStringColumn = -1;
+                    }
+                    break;
+                default:
+                    if (record instanceof LastCellOfRowDummyRecord) {
+                        emitRow(((LastCellOfRowDummyRecord) record).getRow());
+                    }
+                    break;
+            }
+        }
+
+        private void startSheet() {
+            if (sheetsByPosition == null) {
+                sheetsByPosition = BoundSheetRecord.orderByBofPosition(boundSheets);
+            }
+
+            String sheetName = sheetPosition < sheetsByPosition.length
+                    ? sheetsByPosition[sheetPosition].getSheetname()
+                    : "Sheet" + (sheetPosition + 1);
+            rowScan = Instrumentation.start(Instrumentation.SHEET_ROW_SCAN);
+            handler = handlers.startSheet(sheetsRead, sheetName);
+            sheetDepth = depth;
+            rowsEmitted = 0;
+            rowCells.clear();
+        }
+
+        void endSheet() {
+            if (handler == null) return;
+
+            handler.endSheet();
+            rowScan.stop(rowsEmitted);
+            handler = null;
+            sheetDepth = 0;
+            sheetsRead++;
+        }
+
+        private void setCell(CellValueRecordInterface cell, CellText text) {
+            setCell(cell.getColumn(), text);
+        }
+
+        private void setCell(int column, CellText text) {
+            if (handler == null || depth != sheetDepth || handler.isDone() || !handler.wantsColumn(column)) {
+                return;
+            }
+
+            while (rowCells.size() <= column) {
+                rowCells.add(null);
+            }
+            rowCells.set(column, text.get());
+        }
+
+        private void emitRow(int rowNum) {
+            if (handler == null || depth != sheetDepth || handler.isDone() || rowCells.isEmpty()) {
+                rowCells.clear();
+                return;
+            }
+
+            handler.row(rowNum, rowCells.toArray(new String[0]));
+            rowsEmitted++;
+            rowCells.clear();
+        }
+
+        private String numberValue(NumberRecord number) {
+            double value = number.getValue();
+            if (DateUtil.isADateFormat(formats.getFormatIndex(number), formats.getFormatString(number))
+                    && DateUtil.isValidExcelDate(value)) {
+                return DateUtil.getJavaDate(value).toString();
+            }
+            return SheetContentHandler.formatNumber(value);
+        }
+    }
+
+    private interface CellText {
+        String get();
+    }
+}
@@ -0,0 +1,229 @@
+package reader;
+
+import org.apache.poi.openxml4j.opc.PackageRelationshipTypes;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.model.SharedStrings;
+import org.apache.poi.xssf.usermodel.XSSFRelation;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+import util.Instrumentation;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+
+public class MappedXlsxReader implements WorkbookReader {
+
+    private static final String PACKAGE_RELATIONSHIPS = "_rels/.rels";
+    private static final String DEFAULT_WORKBOOK = "xl/workbook.xml";
+
+    private final ForkJoinPool sheetPool;
+    private final XlsxStreamReader fallback;
+
+    public MappedXlsxReader() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public MappedXlsxReader(ForkJoinPool sheetPool) {
+        this.sheetPool = sheetPool;
+        this.fallback = new XlsxStreamReader(sheetPool);
+    }
+
+    @Override
+    public int read(File file, SheetHandlerFactory handlers) throws Exception {
+        if (file.length() > Integer.MAX_VALUE) {
+            return fallback.read(file, handlers);
+        }
+
+        Instrumentation.Span open = Instrumentation.start(Instrumentation.FILE_OPEN);
+        ZipDirectory zip = ZipDirectory.read(FileBuffers.read(file));
+        open.stop();
+
+        return zip == null ? fallback.read(file, handlers) : read(zip, handlers, () -> fallback.read(file, handlers));
+    }
+
+    @Override
+    public int read(InputStream content, SheetHandlerFactory handlers) throws Exception {
+        Instrumentation.Span open = Instrumentation.start(Instrumentation.FILE_OPEN);
+        byte[] bytes = content.readAllBytes();
+        ZipDirectory zip = ZipDirectory.read(ByteBuffer.wrap(bytes));
+        open.stop();
+
+        Callable<Integer> viaPackage = () -> fallback.read(new ByteArrayInputStream(bytes), handlers);
+        return zip == null ? viaPackage.call() : read(zip, handlers, viaPackage);
+    }
+
+    private int read(ZipDirectory zip, SheetHandlerFactory handlers, Callable<Integer> viaPackage) throws Exception {
+        Instrumentation.Span unzip = Instrumentation.start(Instrumentation.FILE_UNZIP);
+        String workbookPath = findWorkbook(zip);
+        if (workbookPath == null) {
+            unzip.stop();
+            return viaPackage.call();
+        }
+
+        Map<String, Relationship> relationships = readRelationships(zip, relationshipsPath(workbookPath));
+        List<SheetRef> sheetRefs = readSheetRefs(zip, workbookPath);
+
+        SharedStrings strings = null;
+        DateStyles dateStyles = DateStyles.NONE;
+        for (Relationship relationship : relationships.values()) {
+            String path = resolve(workbookPath, relationship.target);
+            if (!zip.contains(path)) continue;
+
+            if (relationship.type.equals(XSSFRelation.SHARED_STRINGS.getRelation())) {
+                try (InputStream in = zip.open(path)) {
+                    strings = new ReadOnlySharedStringsTable(in, false);
+                }
+            } else if (relationship.type.equals(XSSFRelation.STYLES.getRelation())) {
+                try (InputStream in = zip.open(path)) {
+                    dateStyles = DateStyles.parse(in);
+                }
+            }
+        }
+        if (strings == null) {
+            strings = new ReadOnlySharedStringsTable(new ByteArrayInputStream(new byte[0]), false);
+        }
+        unzip.stop();
+
+        List<Callable<Void>> sheetTasks = new ArrayList<>();
+        for (SheetRef sheetRef : sheetRefs) {
+            Relationship relationship = relationships.get(sheetRef.relationshipId);
+            if (relationship == null || !isSheet(relationship.type)) continue;
+
+            String path = resolve(workbookPath, relationship.target);
+            if (!zip.contains(path)) continue;
+
+            sheetTasks.add(XlsxStreamReader.sheetTask(() -> zip.open(path), sheetTasks.size(), sheetRef.name,
+                    strings, dateStyles, handlers));
+        }
+
+        if (sheetTasks.isEmpty()) {
+            return viaPackage.call();
+        }
+
+        XlsxStreamReader.runSheetTasks(sheetTasks, sheetPool);
+
+        return sheetTasks.size();
+    }
+
+    private static String findWorkbook(ZipDirectory zip) throws Exception {
+        if (zip.contains(PACKAGE_RELATIONSHIPS)) {
+            for (Relationship relationship : readRelationships(zip, PACKAGE_RELATIONSHIPS).values()) {
+                if (relationship.type.equals(PackageRelationshipTypes.CORE_DOCUMENT)) {
+                    String path = resolve("", relationship.target);
+                    return zip.contains(path) ? path : null;
+                }
+            }
+        }
+        return zip.contains(DEFAULT_WORKBOOK) ? DEFAULT_WORKBOOK : null;
+    }
+
+    private static boolean isSheet(String type) {
+        return type.equals(XSSFRelation.WORKSHEET.getRelation()) || type.equals(XSSFRelation.CHARTSHEET.getRelation());
+    }
+
+    private static String relationshipsPath(String partPath) {
+        int slash = partPath.lastIndexOf('/');
+        return partPath.substring(0, slash + 1) + "_rels/" + partPath.substring(slash + 1) + ".rels";
+    }
+
+    private static String resolve(String sourcePath, String target) {
+        String base = target.startsWith("/") ? "" : sourcePath.substring(0, sourcePath.lastIndexOf('/') + 1);
+        List<String> segments = new ArrayList<>();
+
+        for (String segment : (base + target).split("/")) {
+            if (segment.isEmpty() || segment.equals(".")) continue;
+            if (segment.equals("..")) {
+                if (!segments.isEmpty()) segments.remove(segments.size() - 1);
+            } else {
+                segments.add(segment);
+            }
+        }
+        return String.join("/", segments);
+    }
+
+    private static Map<String, Relationship> readRelationships(ZipDirectory zip, String path) throws Exception {
+        Map<String, Relationship> relationships = new HashMap<>();
+        if (!zip.contains(path)) return relationships;
+
+        parse(zip, path, new DefaultHandler() {
+            @Override
+            public void startElement(String uri, String localName, String qName, Attributes attributes) {
+                if (!localName.equals("Relationship")) return;
+                if ("External".equals(attributes.getValue("TargetMode"))) return;
+
+                String id = attributes.getValue("Id");
+                String type = attributes.getValue("Type");
+                String target = attributes.getValue("Target");
+                if (id != null && type != null && target != null) {
+                    relationships.put(id, new Relationship(type, target));
+                }
+            }
+        });
+        return relationships;
+    }
+
+    private static List<SheetRef> readSheetRefs(ZipDirectory zip, String workbookPath) throws Exception {
+        List<SheetRef> sheetRefs = new ArrayList<>();
+
+        parse(zip, workbookPath, new DefaultHandler() {
+            @Override
+            public void startElement(String uri, String localName, String qName, Attributes attributes) {
+                if (!localName.equalsIgnoreCase("sheet")) return;
+
+                String name = null;
+                String id = null;
+                for (int i = 0; i < attributes.getLength(); i++) {
+                    String attribute = attributes.getLocalName(i);
+                    if (attribute.equalsIgnoreCase("name")) {
+                        name = attributes.getValue(i);
+                    } else if (attribute.equalsIgnoreCase("id")) {
+                        id = attributes.getValue(i);
+                    }
+                }
+                if (id != null) {
+                    sheetRefs.add(new SheetRef(name, id));
+                }
+            }
+        });
+        return sheetRefs;
+    }
+
+    private static void parse(ZipDirectory zip, String path, DefaultHandler handler) throws Exception {
+        try (InputStream in = zip.open(path)) {
+            XMLReader parser = XMLHelper.newXMLReader();
+            parser.setContentHandler(handler);
+            parser.parse(new InputSource(in));
+        }
+    }
+
+    private static class Relationship {
+        final String type;
+        final String target;
+
+        Relationship(String type, String target) {
+            this.type = type;
+            this.target = target;
+        }
+    }
+
+    private static class SheetRef {
+        final String name;
+        final String relationshipId;
+
+        SheetRef(String name, String relationshipId) {
+            this.name = name;
+            this.relationshipId = relationshipId;
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package reader;
+
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.model.SharedStrings;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+class SheetContentHandler extends DefaultHandler {
+    private final SharedStrings strings;
+    private final DateStyles dateStyles;
+    private final SheetRowHandler handler;
+
+    private final List<String> rowCells = new ArrayList<>();
+    private final StringBuilder text = new StringBuilder();
+
+    private int rowNum = -1;
+    private int rowsEmitted;
+    private int nextColumn;
+    private int columnIndex;
+    private String cellType;
+    private int styleIndex;
+    private boolean hasFormula;
+    private boolean inValue;
+    private boolean inInlineText;
+    private boolean inPhonetic;
+
+    SheetContentHandler(SharedStrings strings, DateStyles dateStyles, SheetRowHandler handler) {
+        this.strings = strings;
+        this.dateStyles = dateStyles;
+        this.handler = handler;
+    }
+
+    void parse(InputStream sheetData) throws Exception {
+        XMLReader parser = XMLHelper.newXMLReader();
+        parser.setContentHandler(this);
+        try {
+            parser.parse(new InputSource(sheetData));
+        } catch (SheetDone e) {
+            // the row handler has seen enough of this sheet
+        }
+    }
+
+    int getRowsEmitted() {
+        return rowsEmitted;
+    }
+
+    @Override
+    public void startElement(String uri, String localName, String qName, Attributes attributes) {
+        switch (localName) {
+            case "row":
+                String rowRef = attributes.getValue("r");
+                rowNum = rowRef != null ? Integer.parseInt(rowRef) - 1 : rowNum + 1;
+                rowCells.clear();
+                nextColumn = 0;
+                break;
+            case "c":
+                String cellRef = attributes.getValue("r");
+                columnIndex = cellRef != null ? columnIndexFromRef(cellRef) : nextColumn;
+                cellType = attributes.getValue("t");
+                String style = attributes.getValue("s");
+                styleIndex = style != null ? Integer.parseInt(style) : 0;
+                hasFormula = false;
+                text.setLength(0);
+                break;
+            case "f":
+                hasFormula = true;
+                break;
+            case "v":
+                inValue = true;
+                break;
+            case "rPh":
+                inPhonetic = true;
+                break;
+            case "t":
+                inInlineText = !inPhonetic;
+                break;
+            default:
+                break;
+        }
+    }
+
+    @Override
+    public void characters(char[] ch, int start, int length) {
+        if (inValue || inInlineText) {
+            text.append(ch, start, length);
+        }
+    }
+
+    @Override
+    public void endElement(String uri, String localName, String qName) throws SAXException {
+        switch (localName) {
+            case "v":
+                inValue = false;
+                break;
+            case "t":
+                inInlineText = false;
+                break;
+            case "rPh":
+                inPhonetic = false;
+                break;
+            case "c":
+                while (rowCells.size() <= columnIndex) {
+                    rowCells.add(null);
+                }
+                rowCells.set(columnIndex, cellValue());
+                nextColumn = columnIndex + 1;
+                break;
+            case "row":
+                handler.row(rowNum, rowCells.toArray(new String[0]));
+                rowsEmitted++;
+                if (handler.isDone()) {
+                    throw new SheetDone();
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    private String cellValue() {
+        String raw = text.toString();
+
+        try {
+            if (cellType == null || cellType.equals("n")) {
+                if (raw.isEmpty()) return "";
+                double numValue = Double.parseDouble(raw);
+                if (!hasFormula && dateStyles.isDateFormatted(styleIndex, numValue)) {
+                    return DateUtil.getJavaDate(numValue).toString();
+                }
+                return formatNumber(numValue);
+            }
+
+            switch (cellType) {
+                case "s":
+                    return strings.getItemAt(Integer.parseInt(raw)).getString();
+                case "b":
+                    if (hasFormula) return "";
+                    return String.valueOf(raw.equals("1"));
+                case "e":
+                    return "";
+                default:
+                    return raw;
+            }
+        } catch (Exception e) {
+            return "";
+        }
+    }
+
+    static int columnIndexFromRef(String ref) {
+        int column = 0;
+        for (int i = 0; i < ref.length(); i++) {
+            char c = ref.charAt(i);
+            if (c < 'A' || c > 'Z') break;
+            column = column * 26 + (c - 'A' + 1);
+        }
+        return column - 1;
+    }
+
+    static String formatNumber(double numValue) {
+        if (numValue == (long) numValue) {
+            return String.valueOf((long) numValue);
+        }
+        return String.valueOf(numValue);
+    }
+
+    private static class SheetDone extends SAXException {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package reader;
+
+public interface SheetHandlerFactory {
+
+    SheetRowHandler startSheet(int sheetIndex, String sheetName);
+}
@@ -0,0 +1,16 @@
+package reader;
+
+public interface SheetRowHandler {
+
+    void row(int rowNum, String[] cells);
+
+    default boolean isDone() {
+        return false;
+    }
+
+    default boolean wantsColumn(int column) {
+        return true;
+    }
+
+    void endSheet();
+}
@@ -0,0 +1,11 @@
+package reader;
+
+import java.io.File;
+import java.io.InputStream;
+
+public interface WorkbookReader {
+
+    int read(File file, SheetHandlerFactory handlers) throws Exception;
+
+    int read(InputStream content, SheetHandlerFactory handlers) throws Exception;
+}
@@ -0,0 +1,101 @@
+package reader;
+
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.SharedStrings;
+import util.Instrumentation;
+
+import java.io.File;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+public class XlsxStreamReader implements WorkbookReader {
+
+    private final ForkJoinPool sheetPool;
+
+    public XlsxStreamReader() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public XlsxStreamReader(ForkJoinPool sheetPool) {
+        this.sheetPool = sheetPool;
+    }
+
+    @Override
+    public int read(File file, SheetHandlerFactory handlers) throws Exception {
+        Instrumentation.Span open = Instrumentation.start(Instrumentation.FILE_OPEN);
+        OPCPackage pkg = OPCPackage.open(file, PackageAccess.READ);
+        open.stop();
+        return read(pkg, handlers);
+    }
+
+    @Override
+    public int read(InputStream content, SheetHandlerFactory handlers) throws Exception {
+        Instrumentation.Span open = Instrumentation.start(Instrumentation.FILE_OPEN);
+        OPCPackage pkg = OPCPackage.open(content);
+        open.stop();
+        return read(pkg, handlers);
+    }
+
+    private int read(OPCPackage pkg, SheetHandlerFactory handlers) throws Exception {
+        List<Callable<Void>> sheetTasks = new ArrayList<>();
+
+        try {
+            Instrumentation.Span unzip = Instrumentation.start(Instrumentation.FILE_UNZIP);
+            XSSFReader xssfReader = new XSSFReader(pkg);
+            SharedStrings strings = new ReadOnlySharedStringsTable(pkg, false);
+            DateStyles dateStyles = DateStyles.from(xssfReader.getStylesTable());
+            unzip.stop();
+
+            XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) xssfReader.getSheetsData();
+
+            while (sheets.hasNext()) {
+                InputStream sheetData = sheets.next();
+                int sheetIndex = sheetTasks.size();
+                String sheetName = sheets.getSheetName();
+
+                sheetTasks.add(sheetTask(() -> sheetData, sheetIndex, sheetName, strings, dateStyles, handlers));
+            }
+
+            runSheetTasks(sheetTasks, sheetPool);
+
+            return sheetTasks.size();
+        } finally {
+            pkg.revert();
+        }
+    }
+
+    static Callable<Void> sheetTask(Callable<InputStream> sheetData, int sheetIndex, String sheetName,
+                                    SharedStrings strings, DateStyles dateStyles, SheetHandlerFactory handlers) {
+        return () -> {
+            try (InputStream in = sheetData.call()) {
+                Instrumentation.Span rowScan = Instrumentation.start(Instrumentation.SHEET_ROW_SCAN);
+                SheetRowHandler handler = handlers.startSheet(sheetIndex, sheetName);
+                SheetContentHandler contentHandler = new SheetContentHandler(strings, dateStyles, handler);
+                contentHandler.parse(in);
+                handler.endSheet();
+                rowScan.stop(contentHandler.getRowsEmitted());
+            }
+            return null;
+        };
+    }
+
+    static void runSheetTasks(List<Callable<Void>> sheetTasks, ForkJoinPool sheetPool) throws Exception {
+        if (sheetTasks.size() == 1) {
+            sheetTasks.get(0).call();
+            return;
+        }
+
+        for (Future<Void> done : sheetPool.invokeAll(sheetTasks)) {
+            try {
+                done.get();
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+            }
+        }
+    }
+}
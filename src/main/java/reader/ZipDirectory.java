@@ -0,0 +1,249 @@
+package reader;
+
+import org.apache.poi.openxml4j.util.ZipSecureFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+class ZipDirectory {
+
+    private static final int END_OF_DIRECTORY_SIGNATURE = 0x06054b50;
+    private static final int DIRECTORY_ENTRY_SIGNATURE = 0x02014b50;
+    private static final int LOCAL_HEADER_SIGNATURE = 0x04034b50;
+    private static final int END_OF_DIRECTORY_SIZE = 22;
+    private static final int MAX_COMMENT_LENGTH = 0xFFFF;
+    private static final long ZIP64_MARKER = 0xFFFFFFFFL;
+
+    private static final int STORED = 0;
+    private static final int DEFLATED = 8;
+    private static final int INFLATE_BUFFER_SIZE = 1 << 16;
+    private static final long GRACE_ENTRY_SIZE = 100 * 1024;
+
+    private final ByteBuffer data;
+    private final Map<String, Entry> entries;
+
+    private ZipDirectory(ByteBuffer data, Map<String, Entry> entries) {
+        this.data = data;
+        this.entries = entries;
+    }
+
+    static ZipDirectory read(ByteBuffer buffer) {
+        ByteBuffer data = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        int end = findEndOfDirectory(data);
+        if (end < 0) {
+            return null;
+        }
+
+        int entryCount = u16(data, end + 10);
+        long directoryOffset = u32(data, end + 16);
+        if (entryCount == 0xFFFF || directoryOffset == ZIP64_MARKER) {
+            return null;
+        }
+
+        Map<String, Entry> entries = new HashMap<>();
+        int offset = (int) directoryOffset;
+
+        for (int i = 0; i < entryCount; i++) {
+            if (offset + 46 > data.limit() || data.getInt(offset) != DIRECTORY_ENTRY_SIGNATURE) {
+                return null;
+            }
+
+            int flags = u16(data, offset + 8);
+            int method = u16(data, offset + 10);
+            long compressedSize = u32(data, offset + 20);
+            long size = u32(data, offset + 24);
+            int nameLength = u16(data, offset + 28);
+            int extraLength = u16(data, offset + 30);
+            int commentLength = u16(data, offset + 32);
+            long localHeaderOffset = u32(data, offset + 42);
+
+            if (compressedSize == ZIP64_MARKER || size == ZIP64_MARKER || localHeaderOffset == ZIP64_MARKER) {
+                return null;
+            }
+
+            String name = decodeName(data, offset + 46, nameLength);
+            entries.put(name.startsWith("/") ? name.substring(1) : name,
+                    new Entry(flags, method, (int) compressedSize, size, (int) localHeaderOffset));
+            offset += 46 + nameLength + extraLength + commentLength;
+        }
+
+        return new ZipDirectory(data, entries);
+    }
+
+    boolean contains(String name) {
+        return entries.containsKey(name);
+    }
+
+    InputStream open(String name) throws IOException {
+        Entry entry = entries.get(name);
+        if (entry == null) {
+            throw new IOException("Missing zip entry: " + name);
+        }
+        if ((entry.flags & 1) != 0) {
+            throw new IOException("Encrypted zip entry: " + name);
+        }
+
+        int local = entry.localHeaderOffset;
+        if (local + 30 > data.limit() || data.getInt(local) != LOCAL_HEADER_SIGNATURE) {
+            throw new IOException("Corrupt zip entry: " + name);
+        }
+
+        if (entry.size > ZipSecureFile.getMaxEntrySize()) {
+            throw new IOException("Zip entry " + name + " declares " + entry.size
+                    + " bytes, more than the allowed " + ZipSecureFile.getMaxEntrySize());
+        }
+
+        int start = local + 30 + u16(data, local + 26) + u16(data, local + 28);
+        if (start + (long) entry.compressedSize > data.limit()) {
+            throw new IOException("Corrupt zip entry: " + name);
+        }
+        ByteBuffer content = data.duplicate();
+        content.position(start).limit(start + entry.compressedSize);
+        content = content.slice();
+
+        switch (entry.method) {
+            case STORED:
+                return new ByteBufferInputStream(content, false);
+            case DEFLATED:
+                return new EntryInflaterStream(name, new ByteBufferInputStream(content, true));
+            default:
+                throw new IOException("Unsupported compression method " + entry.method + " for " + name);
+        }
+    }
+
+    private static int findEndOfDirectory(ByteBuffer data) {
+        int last = data.limit() - END_OF_DIRECTORY_SIZE;
+        int first = Math.max(0, last - MAX_COMMENT_LENGTH);
+
+        for (int offset = last; offset >= first; offset--) {
+            if (data.getInt(offset) == END_OF_DIRECTORY_SIGNATURE) {
+                return offset;
+            }
+        }
+        return -1;
+    }
+
+    private static String decodeName(ByteBuffer data, int offset, int length) {
+        byte[] name = new byte[length];
+        ByteBuffer source = data.duplicate();
+        source.position(offset);
+        source.get(name);
+        return new String(name, StandardCharsets.UTF_8);
+    }
+
+    private static int u16(ByteBuffer data, int offset) {
+        return data.getShort(offset) & 0xFFFF;
+    }
+
+    private static long u32(ByteBuffer data, int offset) {
+        return data.getInt(offset) & 0xFFFFFFFFL;
+    }
+
+    private static class Entry {
+        final int flags;
+        final int method;
+        final int compressedSize;
+        final long size;
+        final int localHeaderOffset;
+
+        Entry(int flags, int method, int compressedSize, long size, int localHeaderOffset) {
+            this.flags = flags;
+            this.method = method;
+            this.compressedSize = compressedSize;
+            this.size = size;
+            this.localHeaderOffset = localHeaderOffset;
+        }
+    }
+
+    private static class EntryInflaterStream extends InflaterInputStream {
+        private final String name;
+        private boolean closed;
+
+        EntryInflaterStream(String name, InputStream in) {
+            super(in, new Inflater(true), INFLATE_BUFFER_SIZE);
+            this.name = name;
+        }
+
+        @Override
+        public int read(byte[] target, int offset, int length) throws IOException {
+            int count = super.read(target, offset, length);
+            if (count > 0) {
+                checkThreshold();
+            }
+            return count;
+        }
+
+        private void checkThreshold() throws IOException {
+            long inflated = inf.getBytesWritten();
+            if (inflated > ZipSecureFile.getMaxEntrySize()) {
+                throw new IOException("Zip entry " + name + " inflates past the allowed "
+                        + ZipSecureFile.getMaxEntrySize() + " bytes");
+            }
+            if (inflated > GRACE_ENTRY_SIZE
+                    && (double) inf.getBytesRead() / inflated < ZipSecureFile.getMinInflateRatio()) {
+                throw new IOException("Zip entry " + name + " inflates " + inflated + " bytes from "
+                        + inf.getBytesRead() + ", below the minimum inflate ratio "
+                        + ZipSecureFile.getMinInflateRatio());
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!closed) {
+                closed = true;
+                inf.end();
+                super.close();
+            }
+        }
+    }
+
+    private static class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+        private boolean padWithZero;
+
+        ByteBufferInputStream(ByteBuffer buffer, boolean padWithZero) {
+            this.buffer = buffer;
+            this.padWithZero = padWithZero;
+        }
+
+        @Override
+        public int read() {
+            if (buffer.hasRemaining()) {
+                return buffer.get() & 0xFF;
+            }
+            if (padWithZero) {
+                padWithZero = false;
+                return 0;
+            }
+            return -1;
+        }
+
+        @Override
+        public int read(byte[] target, int offset, int length) {
+            if (length == 0) return 0;
+
+            if (!buffer.hasRemaining()) {
+                if (!padWithZero) return -1;
+                padWithZero = false;
+                target[offset] = 0;
+                return 1;
+            }
+
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(target, offset, count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
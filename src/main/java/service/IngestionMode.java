@@ -0,0 +1,7 @@
+package service;
+
+public enum IngestionMode {
+    THREAD_POOL,
+    VIRTUAL_THREADS,
+    PIPELINE
+}
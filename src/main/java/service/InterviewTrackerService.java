@@ -1,105 +1,284 @@
 package service;
 
-import model.StudentRecord;
+import cache.ParsedFileCache;
+import model.ExtractedFile;
+import model.NameMatcher;
+import model.StudentStore;
+import pipeline.IngestionPipeline;
+import pipeline.StageMetrics;
 import processor.ExcelFileProcessor;
+import processor.HeaderLayoutCache;
+import reader.WorkbookReader;
+import util.Instrumentation;
+import util.MetricsExporter;
 import util.PerformanceMonitor;
+import util.VirtualThreads;
+import writer.ColumnarExporter;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.*;
 import java.util.concurrent.*;
+import java.util.function.IntFunction;
 
 public class InterviewTrackerService {
+    private static final int READ_AHEAD_PER_CORE = 4;
+    private static final int PIPELINE_READERS = 2;
+    private static final int PIPELINE_AGGREGATORS = 1;
+    private static final int STRAGGLER_REPORT_SIZE = 5;
+
     private final int threadPoolSize;
+    private final IngestionMode ingestionMode;
+    private final WorkbookReader workbookReader;
+    private final ParsedFileCache parsedFileCache;
     private final PerformanceMonitor monitor;
-    private final Map<String, String> nameToEmailMap;
+    private final StudentStore store;
+    private final List<String> fileNames = new ArrayList<>();
+    private IngestionPipeline pipeline;
+
+    public InterviewTrackerService(int threadPoolSize, WorkbookReader workbookReader,
+                                   ParsedFileCache parsedFileCache) {
+        this(threadPoolSize, IngestionMode.THREAD_POOL, workbookReader, parsedFileCache);
+    }
 
-    public InterviewTrackerService(int threadPoolSize) {
+    public InterviewTrackerService(int threadPoolSize, IngestionMode ingestionMode, WorkbookReader workbookReader,
+                                   ParsedFileCache parsedFileCache) {
         this.threadPoolSize = threadPoolSize;
+        this.ingestionMode = ingestionMode;
+        this.workbookReader = workbookReader;
+        this.parsedFileCache = parsedFileCache;
         this.monitor = new PerformanceMonitor();
-        this.nameToEmailMap = new ConcurrentHashMap<>();
+        this.store = new StudentStore();
     }
 
-    public Map<String, StudentRecord> processFiles(File[] files) {
-        Map<String, StudentRecord> studentMap = new ConcurrentHashMap<>();
+    public StudentStore processFiles(File[] files) {
+        for (File file : files) {
+            fileNames.add(file.getName());
+        }
 
         System.out.println("\n🔄 PHASE 1: Processing files with email columns...");
-        processFilesWithEmails(files, studentMap);
+        List<ExcelFileProcessor.ProcessingResult> parsed = processFilesWithEmails(files);
+
+        parsedFileCache.save();
 
         System.out.println("\n🔄 PHASE 2: Processing files without email columns...");
-        processFilesWithoutEmails(files, studentMap);
+        processFilesWithoutEmails(parsed);
 
-        return studentMap;
+        return store;
     }
 
-    private void processFilesWithEmails(File[] files, Map<String, StudentRecord> studentMap) {
-        ExecutorService executor = Executors.newFixedThreadPool(threadPoolSize);
+    private List<ExcelFileProcessor.ProcessingResult> processFilesWithEmails(File[] files) {
+        List<ExcelFileProcessor.ProcessingResult> results;
+        switch (ingestionMode) {
+            case VIRTUAL_THREADS:
+                results = ingestOnVirtualThreads(files);
+                break;
+            case PIPELINE:
+                results = ingestThroughPipeline(files);
+                break;
+            default:
+                results = ingestOnThreadPool(files);
+        }
+
+        Instrumentation.Span span = Instrumentation.start(Instrumentation.NAME_RECONCILE);
+        store.resolveNames();
+        span.stop(store.nameMappingCount());
+
+        printStragglers(results);
+        return results;
+    }
+
+    private List<ExcelFileProcessor.ProcessingResult> ingestThroughPipeline(File[] files) {
+        int cores = Runtime.getRuntime().availableProcessors();
+        pipeline = new IngestionPipeline(workbookReader, parsedFileCache,
+                PIPELINE_READERS, cores, PIPELINE_AGGREGATORS, cores * READ_AHEAD_PER_CORE);
 
         try {
-            List<CompletableFuture<ExcelFileProcessor.ProcessingResult>> futures = new ArrayList<>();
-
-            for (File file : files) {
-                CompletableFuture<ExcelFileProcessor.ProcessingResult> future =
-                        CompletableFuture.supplyAsync(
-                                () -> ExcelFileProcessor.processFilePass1(file, studentMap, nameToEmailMap),
-                                executor);
-                futures.add(future);
+            List<ExcelFileProcessor.ProcessingResult> results = pipeline.run(files, store);
+            printPhaseResults(results, 1);
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            System.err.println("Error during phase 1: " + e.getCause().getMessage());
+        }
+        return new ArrayList<>();
+    }
+
+    private List<ExcelFileProcessor.ProcessingResult> ingestOnThreadPool(File[] files) {
+        Queue<StudentStore> workerStores = new ConcurrentLinkedQueue<>();
+        ThreadLocal<StudentStore> workerStore = ThreadLocal.withInitial(() -> {
+            StudentStore local = new StudentStore();
+            workerStores.add(local);
+            return local;
+        });
+
+        return ingest(files, Executors.newFixedThreadPool(threadPoolSize),
+                index -> ExcelFileProcessor.processFile(files[index], index, workbookReader, parsedFileCache,
+                        workerStore.get()),
+                workerStores);
+    }
+
+    private List<ExcelFileProcessor.ProcessingResult> ingestOnVirtualThreads(File[] files) {
+        int cores = Runtime.getRuntime().availableProcessors();
+        BlockingQueue<StudentStore> decodeSlots = new ArrayBlockingQueue<>(cores);
+        for (int i = 0; i < cores; i++) {
+            decodeSlots.add(new StudentStore());
+        }
+        Semaphore readAhead = new Semaphore(cores * READ_AHEAD_PER_CORE);
+
+        return ingest(files, VirtualThreads.newPerTaskExecutor(),
+                index -> ingestFile(files[index], index, decodeSlots, readAhead),
+                decodeSlots);
+    }
+
+    private ExcelFileProcessor.ProcessingResult ingestFile(File file, int fileIndex,
+                                                          BlockingQueue<StudentStore> decodeSlots,
+                                                          Semaphore readAhead) {
+        ExcelFileProcessor.ProcessingResult result = new ExcelFileProcessor.ProcessingResult(file.getName(), fileIndex);
+
+        try {
+            readAhead.acquire();
+            try {
+                long start = System.nanoTime();
+                result.setBytes(file.length());
+                ExtractedFile extracted = parsedFileCache.get(file);
+                byte[] content = extracted == null ? Files.readAllBytes(file.toPath()) : null;
+                result.addProcessingNanos(System.nanoTime() - start);
+
+                StudentStore decodeSlot = decodeSlots.take();
+                start = System.nanoTime();
+                try {
+                    if (extracted == null) {
+                        extracted = ExcelFileProcessor.extractFile(file.getName(), content, workbookReader);
+                        parsedFileCache.put(file, extracted);
+                    }
+                    ExcelFileProcessor.applyExtractedFile(extracted, decodeSlot, result);
+                } finally {
+                    result.addProcessingNanos(System.nanoTime() - start);
+                    decodeSlots.add(decodeSlot);
+                }
+            } finally {
+                readAhead.release();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.setError("Interrupted");
+        } catch (Exception e) {
+            result.setError(e.getMessage());
+        }
+
+        return result;
+    }
+
+    private List<ExcelFileProcessor.ProcessingResult> ingest(
+            File[] files, ExecutorService executor,
+            IntFunction<ExcelFileProcessor.ProcessingResult> processFile,
+            Collection<StudentStore> workerStores) {
+
+        List<ExcelFileProcessor.ProcessingResult> results = new ArrayList<>();
+
+        try {
+            List<CompletableFuture<ExcelFileProcessor.ProcessingResult>> futures =
+                    new ArrayList<>(Collections.nCopies(files.length, null));
+
+            for (int index : ExcelFileProcessor.largestFirst(files)) {
+                futures.set(index, CompletableFuture.supplyAsync(() -> processFile.apply(index), executor));
             }
 
             CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
 
-            printPhaseResults(futures, 1);
+            for (CompletableFuture<ExcelFileProcessor.ProcessingResult> future : futures) {
+                results.add(future.get());
+            }
+
+            store.mergeFrom(StudentStore.mergeAll(new ArrayList<>(workerStores), executor));
+
+            printPhaseResults(results, 1);
 
         } catch (Exception e) {
             System.err.println("Error during phase 1: " + e.getMessage());
         } finally {
             shutdownExecutor(executor);
         }
+
+        return results;
     }
 
-    private void processFilesWithoutEmails(File[] files, Map<String, StudentRecord> studentMap) {
-        ExecutorService executor = Executors.newFixedThreadPool(threadPoolSize);
+    private void processFilesWithoutEmails(List<ExcelFileProcessor.ProcessingResult> parsed) {
+        List<ExcelFileProcessor.ProcessingResult> results = new ArrayList<>();
+        NameMatcher matcher = NameMatcher.build(store);
 
         try {
-            List<CompletableFuture<ExcelFileProcessor.ProcessingResult>> futures = new ArrayList<>();
-
-            for (File file : files) {
-                CompletableFuture<ExcelFileProcessor.ProcessingResult> future =
-                        CompletableFuture.supplyAsync(
-                                () -> ExcelFileProcessor.processFilePass2(file, studentMap, nameToEmailMap),
-                                executor);
-                futures.add(future);
+            for (ExcelFileProcessor.ProcessingResult result : parsed) {
+                if (result.isSuccess() && !result.getDeferredNameSheets().isEmpty()) {
+                    results.add(ExcelFileProcessor.resolveDeferredNames(result, store, matcher));
+                }
             }
 
-            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
-
-            printPhaseResults(futures, 2);
+            printPhaseResults(results, 2);
+            printNameMatches(matcher);
 
         } catch (Exception e) {
             System.err.println("Error during phase 2: " + e.getMessage());
-        } finally {
-            shutdownExecutor(executor);
         }
     }
 
-    private void printPhaseResults(List<CompletableFuture<ExcelFileProcessor.ProcessingResult>> futures, int phase) {
+    private void printPhaseResults(List<ExcelFileProcessor.ProcessingResult> results, int phase) {
         System.out.println("\n" + "─".repeat(70));
         System.out.println("PHASE " + phase + " RESULTS");
         System.out.println("─".repeat(70));
 
-        for (CompletableFuture<ExcelFileProcessor.ProcessingResult> future : futures) {
-            try {
-                ExcelFileProcessor.ProcessingResult result = future.get();
-                if (result.getRowsProcessed() > 0) {
-                    result.printSummary();
-                    monitor.incrementFilesProcessed();
-                    monitor.addStudentsProcessed(result.getRowsProcessed());
-                }
-            } catch (Exception e) {
-                System.err.println("Error getting result: " + e.getMessage());
+        for (ExcelFileProcessor.ProcessingResult result : results) {
+            if (result.getRowsProcessed() > 0) {
+                result.printSummary();
+                monitor.incrementFilesProcessed();
+                monitor.addStudentsProcessed(result.getRowsProcessed());
+            } else if (!result.isSuccess()) {
+                result.printSummary();
             }
         }
     }
 
+    private void printNameMatches(NameMatcher matcher) {
+        StringBuilder summary = new StringBuilder("\nName matches:");
+        for (NameMatcher.MatchType type : NameMatcher.MatchType.values()) {
+            summary.append(String.format(" %d %s%s", matcher.getMatchCount(type),
+                    type.name().toLowerCase().replace('_', ' '), type == NameMatcher.MatchType.UNMATCHED ? "" : ","));
+        }
+        System.out.println(summary);
+    }
+
+    private void printStragglers(List<ExcelFileProcessor.ProcessingResult> results) {
+        if (results.size() < 2) return;
+
+        List<ExcelFileProcessor.ProcessingResult> slowest = new ArrayList<>(results);
+        slowest.sort((r1, r2) -> Long.compare(r2.getProcessingNanos(), r1.getProcessingNanos()));
+
+        long totalNanos = 0;
+        for (ExcelFileProcessor.ProcessingResult result : slowest) {
+            totalNanos += result.getProcessingNanos();
+        }
+        long medianNanos = slowest.get(slowest.size() / 2).getProcessingNanos();
+
+        System.out.println("\nSlowest files:");
+        int limit = Math.min(STRAGGLER_REPORT_SIZE, slowest.size());
+        for (int i = 0; i < limit; i++) {
+            ExcelFileProcessor.ProcessingResult result = slowest.get(i);
+            System.out.println(String.format("  %d. %-36s %8.1f ms %5.1f%% %9.1f KB %3d sheet(s) %7d rows",
+                    i + 1, result.getFileName(), result.getProcessingNanos() / 1e6,
+                    totalNanos == 0 ? 0 : 100.0 * result.getProcessingNanos() / totalNanos,
+                    result.getBytes() / 1024.0, result.getTotalSheets(), result.getRowsRead()));
+        }
+
+        if (medianNanos > 0) {
+            System.out.println(String.format("  Skew: slowest file took %.1fx the median (%.1f ms)",
+                    (double) slowest.get(0).getProcessingNanos() / medianNanos, medianNanos / 1e6));
+        }
+    }
+
     private void shutdownExecutor(ExecutorService executor) {
         executor.shutdown();
         try {
@@ -112,8 +291,62 @@ public class InterviewTrackerService {
         }
     }
 
+    public void exportMetrics(String jsonPath, String prometheusPath) {
+        monitor.finish();
+        try {
+            if (jsonPath != null) {
+                MetricsExporter.writeJson(monitor, Paths.get(jsonPath));
+                System.out.println("📈 Metrics written to " + jsonPath);
+            }
+            if (prometheusPath != null) {
+                MetricsExporter.writePrometheus(monitor, Paths.get(prometheusPath));
+                System.out.println("📈 Metrics written to " + prometheusPath);
+            }
+        } catch (IOException e) {
+            System.err.println("❌ Could not write metrics: " + e.getMessage());
+        }
+    }
+
+    public List<String> getFileNames() {
+        return fileNames;
+    }
+
+    public void exportColumnar(String path) {
+        if (path == null) return;
+
+        try {
+            ColumnarExporter.write(store, fileNames, Paths.get(path));
+            System.out.println("📦 Columnar export written to " + path);
+        } catch (IOException e) {
+            System.err.println("❌ Could not write columnar export: " + e.getMessage());
+        }
+    }
+
     public void printPerformanceMetrics() {
         monitor.printSummary();
-        System.out.println("Name-to-Email mappings created: " + nameToEmailMap.size());
+        System.out.println("Name-to-Email mappings created: " + store.nameMappingCount());
+        if (pipeline != null) {
+            printStageMetrics(pipeline.getStageMetrics());
+        }
+        if (parsedFileCache.isEnabled()) {
+            System.out.println("Parse cache: " + parsedFileCache.getHits() + " hit(s), "
+                    + parsedFileCache.getMisses() + " miss(es)");
+        }
+        System.out.println("Header layouts: " + HeaderLayoutCache.getHits() + " reused, "
+                + HeaderLayoutCache.getMisses() + " classified");
+    }
+
+    private void printStageMetrics(List<StageMetrics> stages) {
+        System.out.println("\nPipeline stages:");
+        System.out.println(String.format("  %-10s %7s %7s %14s %9s %10s %10s %9s %9s",
+                "stage", "workers", "files", "throughput", "busy", "wait in", "wait out", "avg q", "max q"));
+
+        for (StageMetrics stage : stages) {
+            System.out.println(String.format("  %-10s %7d %7d %9.0f %-4s %7d ms %7d ms %7d ms %9.1f %9d",
+                    stage.getName(), stage.getWorkers(), stage.getItems(),
+                    stage.getUnitsPerSecond(), stage.getUnit().equals("bytes") ? "B/s" : "r/s",
+                    stage.getBusyMillis(), stage.getInputWaitMillis(), stage.getOutputWaitMillis(),
+                    stage.getAverageQueueDepth(), stage.getMaxQueueDepth()));
+        }
     }
 }
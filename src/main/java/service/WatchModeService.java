@@ -0,0 +1,278 @@
+package service;
+
+import cache.ParsedFileCache;
+import model.ExtractedFile;
+import model.ExtractedSheet;
+import model.NameMatcher;
+import model.SheetClass;
+import model.StudentRecord;
+import model.StudentStore;
+import processor.ExcelFileProcessor;
+import processor.SheetProcessor;
+import reader.WorkbookReader;
+import util.ExcelUtils;
+import writer.ReportGenerator;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static java.nio.file.StandardWatchEventKinds.*;
+
+public class WatchModeService {
+
+    private static final long DEBOUNCE_MILLIS = 1500;
+    private static final long RETRY_MILLIS = 5000;
+
+    private final Path folder;
+    private final WorkbookReader workbookReader;
+    private final ParsedFileCache parsedFileCache;
+    private final String outputPath;
+    private final int threadPoolSize;
+
+    private final StudentStore store = new StudentStore();
+    private final Map<String, ExtractedFile> extracts = new TreeMap<>();
+    private final Map<String, BitSet> emailContributions = new HashMap<>();
+    private final Map<String, BitSet> nameContributions = new HashMap<>();
+    private final Set<String> pendingRetries = new TreeSet<>();
+    private NameMatcher nameMatcher;
+
+    public WatchModeService(Path folder, WorkbookReader workbookReader, ParsedFileCache parsedFileCache,
+                            String outputPath, int threadPoolSize) {
+        this.folder = folder;
+        this.workbookReader = workbookReader;
+        this.parsedFileCache = parsedFileCache;
+        this.outputPath = outputPath;
+        this.threadPoolSize = threadPoolSize;
+    }
+
+    public void run(File[] files) throws IOException, InterruptedException {
+        loadAll(files);
+        generateReport();
+
+        try (WatchService watcher = FileSystems.getDefault().newWatchService()) {
+            folder.register(watcher, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+            System.out.println("\n👀 Watching " + folder + " for new or changed shortlists (Ctrl+C to stop)...");
+
+            while (true) {
+                Set<String> changed = new TreeSet<>();
+                WatchKey key = pendingRetries.isEmpty()
+                        ? watcher.take()
+                        : watcher.poll(RETRY_MILLIS, TimeUnit.MILLISECONDS);
+
+                while (key != null) {
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        if (event.kind() == OVERFLOW) {
+                            changed.addAll(listWorkbooks());
+                            changed.addAll(extracts.keySet());
+                            continue;
+                        }
+
+                        String fileName = event.context().toString();
+                        if (ExcelUtils.isSupportedInputFile(fileName)) {
+                            changed.add(fileName);
+                        }
+                    }
+
+                    if (!key.reset()) {
+                        System.err.println("❌ Watched folder is no longer accessible: " + folder);
+                        return;
+                    }
+                    key = watcher.poll(DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS);
+                }
+
+                changed.addAll(pendingRetries);
+                if (!changed.isEmpty() && applyChanges(changed)) {
+                    generateReport();
+                }
+            }
+        }
+    }
+
+    public Map<String, StudentRecord> getStudentMap() {
+        return store.asMap();
+    }
+
+    private void loadAll(File[] files) {
+        ExecutorService executor = Executors.newFixedThreadPool(threadPoolSize);
+
+        try {
+            Map<String, Future<ExtractedFile>> futures = new TreeMap<>();
+            for (File file : files) {
+                futures.put(file.getName(), executor.submit(
+                        () -> ExcelFileProcessor.extractFile(file, workbookReader, parsedFileCache)));
+            }
+
+            synchronized (this) {
+                for (Map.Entry<String, Future<ExtractedFile>> entry : futures.entrySet()) {
+                    try {
+                        extracts.put(entry.getKey(), entry.getValue().get());
+                    } catch (ExecutionException e) {
+                        System.err.println("⚠️  Skipping " + entry.getKey() + " for now: " + e.getCause().getMessage());
+                        pendingRetries.add(entry.getKey());
+                    }
+                }
+
+                rebuildNameToEmailMap();
+                for (String fileName : extracts.keySet()) {
+                    applyEmailContribution(fileName);
+                }
+                for (String fileName : extracts.keySet()) {
+                    applyNameContribution(fileName);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdown();
+        }
+
+        parsedFileCache.save();
+        System.out.println("\n✓ Loaded " + extracts.size() + " file(s), "
+                + store.size() + " unique students");
+    }
+
+    private synchronized boolean applyChanges(Set<String> changedFiles) {
+        boolean emailSheetsChanged = false;
+        Set<String> applied = new TreeSet<>();
+
+        for (String fileName : changedFiles) {
+            File file = folder.resolve(fileName).toFile();
+            ExtractedFile previous = extracts.get(fileName);
+            ExtractedFile updated = null;
+            boolean retrying = pendingRetries.remove(fileName);
+
+            if (file.isFile()) {
+                try {
+                    updated = ExcelFileProcessor.extractFile(file, workbookReader, parsedFileCache);
+                } catch (Exception e) {
+                    if (!retrying) {
+                        System.err.println("⚠️  Skipping " + fileName + " for now: " + e.getMessage());
+                    }
+                    pendingRetries.add(fileName);
+                    continue;
+                }
+            } else if (previous == null) {
+                continue;
+            }
+
+            if (updated == null) {
+                extracts.remove(fileName);
+                System.out.println("\n🗑  Removed " + fileName);
+            } else {
+                extracts.put(fileName, updated);
+                System.out.println("\n🔄 " + (previous == null ? "Added " : "Reloaded ") + fileName);
+            }
+
+            subtract(emailContributions.remove(fileName));
+            subtract(nameContributions.remove(fileName));
+            if (updated != null) {
+                applyEmailContribution(fileName);
+            }
+
+            emailSheetsChanged |= hasEmailSheets(previous) || hasEmailSheets(updated);
+            applied.add(fileName);
+        }
+
+        if (applied.isEmpty()) {
+            return false;
+        }
+
+        if (emailSheetsChanged) {
+            rebuildNameToEmailMap();
+            for (Map.Entry<String, ExtractedFile> extract : extracts.entrySet()) {
+                subtract(nameContributions.remove(extract.getKey()));
+                if (extract.getValue().hasSheets(SheetClass.NAME_ONLY)) {
+                    applyNameContribution(extract.getKey());
+                }
+            }
+        } else {
+            for (String fileName : applied) {
+                ExtractedFile extracted = extracts.get(fileName);
+                if (extracted != null && extracted.hasSheets(SheetClass.NAME_ONLY)) {
+                    applyNameContribution(fileName);
+                }
+            }
+        }
+
+        parsedFileCache.save();
+        return true;
+    }
+
+    private void rebuildNameToEmailMap() {
+        store.clearNameMappings();
+        nameMatcher = null;
+        for (ExtractedFile extracted : extracts.values()) {
+            if (!extracted.hasSheets(SheetClass.EMAIL_BEARING)) continue;
+
+            BitSet observedInFile = new BitSet();
+            for (ExtractedSheet sheet : extracted.getSheets()) {
+                if (sheet.isEmailBearing()) {
+                    SheetProcessor.observeEmailRows(sheet, observedInFile, store);
+                }
+            }
+        }
+        store.resolveNames();
+    }
+
+    private void applyEmailContribution(String fileName) {
+        BitSet counted = new BitSet();
+        ExtractedFile extracted = extracts.get(fileName);
+        if (extracted.hasSheets(SheetClass.EMAIL_BEARING)) {
+            nameMatcher = null;
+        }
+
+        for (ExtractedSheet sheet : extracted.getSheets()) {
+            if (sheet.isEmailBearing()) {
+                SheetProcessor.applyEmailRows(sheet, counted, store);
+            }
+        }
+
+        emailContributions.put(fileName, counted);
+    }
+
+    private void applyNameContribution(String fileName) {
+        BitSet counted = new BitSet();
+        if (nameMatcher == null) {
+            nameMatcher = NameMatcher.build(store);
+        }
+
+        for (ExtractedSheet sheet : extracts.get(fileName).getSheets()) {
+            if (!sheet.isEmailBearing()) {
+                SheetProcessor.resolveDeferredNames(sheet.getNames(), counted, store, nameMatcher, null);
+            }
+        }
+
+        nameContributions.put(fileName, counted);
+    }
+
+    private void subtract(BitSet contribution) {
+        if (contribution == null) return;
+
+        for (int id = contribution.nextSetBit(0); id >= 0; id = contribution.nextSetBit(id + 1)) {
+            store.addCount(id, -1);
+        }
+    }
+
+    private static boolean hasEmailSheets(ExtractedFile extracted) {
+        return extracted != null && extracted.hasSheets(SheetClass.EMAIL_BEARING);
+    }
+
+    private List<String> listWorkbooks() {
+        File[] files = folder.toFile().listFiles((dir, name) -> ExcelUtils.isSupportedInputFile(name));
+        List<String> names = new ArrayList<>();
+        if (files != null) {
+            for (File file : files) {
+                names.add(file.getName());
+            }
+        }
+        Collections.sort(names);
+        return names;
+    }
+
+    private synchronized void generateReport() {
+        ReportGenerator.generateReport(store, outputPath);
+    }
+}
@@ -11,6 +11,14 @@ public class ExcelUtils {
             "^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$"
     );
 
+    private static final String[] COMMON_HEADER_TERMS = {
+            "id", "no", "number", "roll", "prn", "reg", "date", "status",
+            "branch", "department", "class", "division", "time", "reporting"
+    };
+
+    private static final ThreadLocal<StringBuilder> NORMALIZE_BUFFER =
+            ThreadLocal.withInitial(() -> new StringBuilder(64));
+
     public static String getCellValueAsString(Cell cell) {
         if (cell == null) return "";
 
@@ -64,36 +72,120 @@ public class ExcelUtils {
     public static boolean isNameColumn(String header) {
         if (header == null || header.isEmpty()) return false;
 
-        String normalized = header.toLowerCase()
-                .trim()
-                .replaceAll("[^a-z0-9]", "");
-
-        return normalized.equals("name") ||
-                normalized.equals("fullname") ||
-                normalized.equals("studentname") ||
-                normalized.equals("candidatename") ||
-                normalized.equals("applicantname") ||
-                normalized.equals("employeename") ||
-                normalized.equals("personname") ||
-                normalized.contains("nameof") ||
-                normalized.endsWith("name");
+        // name, fullname, studentname, candidatename, ... all end with "name"
+        StringBuilder normalized = normalizeHeader(header);
+        return normalized.indexOf("nameof") >= 0 || endsWith(normalized, "name");
     }
 
     public static boolean isEmailColumn(String header) {
         if (header == null || header.isEmpty()) return false;
 
-        String normalized = header.toLowerCase()
-                .trim()
-                .replaceAll("[^a-z0-9]", "");
+        // email, emailaddress, emailid, mail, mailid, ... all contain "mail"
+        return normalizeHeader(header).indexOf("mail") >= 0;
+    }
+
+    public static String normalizeName(String name) {
+        StringBuilder buffer = NORMALIZE_BUFFER.get();
+        buffer.setLength(0);
 
-        return normalized.equals("email") ||
-                normalized.equals("emailaddress") ||
-                normalized.equals("emailid") ||
-                normalized.equals("mail") ||
-                normalized.equals("mailid") ||
-                normalized.equals("mailaddress") ||
-                normalized.contains("email") ||
-                normalized.contains("mail");
+        for (int i = 0; i < name.length(); i++) {
+            char c = Character.toLowerCase(name.charAt(i));
+            if (c >= 'a' && c <= 'z') {
+                buffer.append(c);
+            }
+        }
+
+        return buffer.toString();
+    }
+
+    public static boolean isDigits(String value) {
+        if (value.isEmpty()) return false;
+
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') return false;
+        }
+        return true;
+    }
+
+    public static boolean isBlankOrDigits(String value) {
+        int start = 0;
+        int end = value.length();
+
+        while (start < end && value.charAt(start) <= ' ') start++;
+        while (end > start && value.charAt(end - 1) <= ' ') end--;
+
+        for (int i = start; i < end; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') return false;
+        }
+        return true;
+    }
+
+    public static String headerSignature(String[] cells) {
+        StringBuilder signature = new StringBuilder(cells.length * 8);
+        int lastNonEmpty = 0;
+
+        for (int i = 0; i < cells.length; i++) {
+            String value = cells[i] == null ? "" : cells[i].trim();
+            if (!value.isEmpty()) {
+                signature.append('=').append(normalizeHeader(value));
+                lastNonEmpty = signature.length();
+            }
+            signature.append('|');
+        }
+
+        signature.setLength(lastNonEmpty);
+        return signature.toString();
+    }
+
+    private static StringBuilder normalizeHeader(String header) {
+        StringBuilder buffer = NORMALIZE_BUFFER.get();
+        buffer.setLength(0);
+
+        for (int i = 0; i < header.length(); i++) {
+            char c = Character.toLowerCase(header.charAt(i));
+            if ((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')) {
+                buffer.append(c);
+            }
+        }
+
+        return buffer;
+    }
+
+    private static boolean endsWith(StringBuilder value, String suffix) {
+        int offset = value.length() - suffix.length();
+        if (offset < 0) return false;
+
+        for (int i = 0; i < suffix.length(); i++) {
+            if (value.charAt(offset + i) != suffix.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    private static boolean containsIgnoreCase(String value, String lowerTerm) {
+        int last = value.length() - lowerTerm.length();
+        for (int i = 0; i <= last; i++) {
+            if (value.regionMatches(true, i, lowerTerm, 0, lowerTerm.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static boolean isSupportedInputFile(String fileName) {
+        String lower = fileName.toLowerCase();
+        return (lower.endsWith(".xlsx") || lower.endsWith(".xlsm") || lower.endsWith(".xls")
+                || isDelimitedTextFile(lower)) && !fileName.startsWith("~$");
+    }
+
+    public static boolean isDelimitedTextFile(String fileName) {
+        String lower = fileName.toLowerCase();
+        return lower.endsWith(".csv") || lower.endsWith(".tsv");
+    }
+
+    public static boolean isTabSeparatedFile(String fileName) {
+        return fileName.toLowerCase().endsWith(".tsv");
     }
 
     public static boolean isValidEmail(String email) {
@@ -114,14 +206,16 @@ public class ExcelUtils {
         return normalized + "@generated.local";
     }
 
-    public static boolean isLikelyHeaderRow(Row row) {
-        if (row == null) return false;
+    public static boolean isLikelyHeaderRow(String[] cells) {
+        if (cells == null) return false;
 
         int nonEmptyCells = 0;
         int likelyHeaderCells = 0;
 
-        for (Cell cell : row) {
-            String value = getCellValueAsString(cell).trim();
+        for (String cell : cells) {
+            if (cell == null) continue;
+
+            String value = cell.trim();
             if (!value.isEmpty()) {
                 nonEmptyCells++;
 
@@ -136,20 +230,11 @@ public class ExcelUtils {
     }
 
     private static boolean isCommonHeaderTerm(String value) {
-        String normalized = value.toLowerCase().trim();
-        return normalized.contains("id") ||
-                normalized.contains("no") ||
-                normalized.contains("number") ||
-                normalized.contains("roll") ||
-                normalized.contains("prn") ||
-                normalized.contains("reg") ||
-                normalized.contains("date") ||
-                normalized.contains("status") ||
-                normalized.contains("branch") ||
-                normalized.contains("department") ||
-                normalized.contains("class") ||
-                normalized.contains("division") ||
-                normalized.contains("time") ||
-                normalized.contains("reporting");
+        for (String term : COMMON_HEADER_TERMS) {
+            if (containsIgnoreCase(value, term)) {
+                return true;
+            }
+        }
+        return false;
     }
 }
@@ -0,0 +1,118 @@
+package util;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class Instrumentation {
+
+    public static final String FILE_OPEN = "file.open";
+    public static final String FILE_UNZIP = "file.unzip";
+    public static final String FILE_EXTRACT = "file.extract";
+    public static final String FILE_AGGREGATE = "file.aggregate";
+    public static final String SHEET_HEADER_DETECTION = "sheet.header_detection";
+    public static final String SHEET_ROW_SCAN = "sheet.row_scan";
+    public static final String NAME_RESOLUTION = "names.resolve";
+    public static final String NAME_RECONCILE = "names.reconcile";
+    public static final String REPORT_WRITE = "report.write";
+    public static final String COLUMNAR_WRITE = "report.columnar";
+
+    private static final com.sun.management.ThreadMXBean ALLOCATION_BEAN = allocationBean();
+    private static final Map<String, Stage> STAGES = new ConcurrentHashMap<>();
+
+    public static Span start(String stage) {
+        return new Span(stage(stage), System.nanoTime(), allocatedBytes());
+    }
+
+    public static void record(String stage, long nanos, long rows) {
+        stage(stage).record(nanos, rows, 0);
+    }
+
+    public static Map<String, Stage> snapshot() {
+        return new TreeMap<>(STAGES);
+    }
+
+    public static void reset() {
+        STAGES.clear();
+    }
+
+    private static Stage stage(String name) {
+        return STAGES.computeIfAbsent(name, Stage::new);
+    }
+
+    private static long allocatedBytes() {
+        return ALLOCATION_BEAN == null ? 0 : ALLOCATION_BEAN.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private static com.sun.management.ThreadMXBean allocationBean() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) bean;
+            if (allocationBean.isThreadAllocatedMemorySupported() && allocationBean.isThreadAllocatedMemoryEnabled()) {
+                return allocationBean;
+            }
+        }
+        return null;
+    }
+
+    public static class Span {
+        private final Stage stage;
+        private final long startNanos;
+        private final long startAllocated;
+
+        private Span(Stage stage, long startNanos, long startAllocated) {
+            this.stage = stage;
+            this.startNanos = startNanos;
+            this.startAllocated = startAllocated;
+        }
+
+        public void stop() {
+            stop(0);
+        }
+
+        public void stop(long rows) {
+            stage.record(System.nanoTime() - startNanos, rows, allocatedBytes() - startAllocated);
+        }
+    }
+
+    public static class Stage {
+        private final String name;
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final AtomicLong rows = new AtomicLong();
+        private final AtomicLong allocatedBytes = new AtomicLong();
+
+        private Stage(String name) {
+            this.name = name;
+        }
+
+        private void record(long nanos, long rowCount, long allocated) {
+            latency.record(nanos);
+            rows.addAndGet(rowCount);
+            allocatedBytes.addAndGet(allocated);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public LatencyHistogram getLatency() {
+            return latency;
+        }
+
+        public long getRows() {
+            return rows.get();
+        }
+
+        public long getAllocatedBytes() {
+            return allocatedBytes.get();
+        }
+
+        public double getRowsPerSecond() {
+            long nanos = latency.getSum();
+            return nanos == 0 ? 0 : rows.get() * 1e9 / nanos;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package util;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+
+public class MetricsExporter {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+    private static final String PREFIX = "interview_tracker_";
+
+    public static void writeJson(PerformanceMonitor monitor, Path path) throws IOException {
+        Map<String, Instrumentation.Stage> stages = Instrumentation.snapshot();
+
+        try (Writer out = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            out.write("{\n");
+            out.write(format("  \"filesProcessed\": %d,\n", monitor.getFilesProcessed()));
+            out.write(format("  \"studentsProcessed\": %d,\n", monitor.getStudentsProcessed()));
+            out.write(format("  \"elapsedSeconds\": %.6f,\n", monitor.getElapsedSeconds()));
+            out.write(format("  \"filesPerSecond\": %.3f,\n", monitor.getFilesPerSecond()));
+            out.write(format("  \"gc\": {\"collections\": %d, \"millis\": %d},\n",
+                    monitor.getGcCount(), monitor.getGcMillis()));
+            out.write(format("  \"heap\": {\"usedBeforeBytes\": %d, \"usedAfterBytes\": %d},\n",
+                    monitor.getStartHeapUsed(), monitor.getHeapUsed()));
+            out.write("  \"stages\": {");
+
+            String separator = "\n";
+            for (Instrumentation.Stage stage : stages.values()) {
+                LatencyHistogram latency = stage.getLatency();
+                out.write(separator);
+                out.write(format("    \"%s\": {\"count\": %d, \"totalNanos\": %d, \"meanNanos\": %.1f, \"maxNanos\": %d, ",
+                        stage.getName(), latency.getCount(), latency.getSum(), latency.getMean(), latency.getMax()));
+                out.write("\"percentileNanos\": {");
+                for (int i = 0; i < PERCENTILES.length; i++) {
+                    out.write(format("%s\"p%s\": %d", i == 0 ? "" : ", ", label(PERCENTILES[i]),
+                            latency.getValueAtPercentile(PERCENTILES[i])));
+                }
+                out.write(format("}, \"rows\": %d, \"rowsPerSecond\": %.1f, \"allocatedBytes\": %d}",
+                        stage.getRows(), stage.getRowsPerSecond(), stage.getAllocatedBytes()));
+                separator = ",\n";
+            }
+
+            out.write(stages.isEmpty() ? "}\n" : "\n  }\n");
+            out.write("}\n");
+        }
+    }
+
+    public static void writePrometheus(PerformanceMonitor monitor, Path path) throws IOException {
+        Map<String, Instrumentation.Stage> stages = Instrumentation.snapshot();
+
+        try (Writer out = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            gauge(out, "files_processed", "Files that contributed at least one student", monitor.getFilesProcessed());
+            gauge(out, "students_processed", "Student rows counted", monitor.getStudentsProcessed());
+            gauge(out, "run_seconds", "Wall-clock time of the run", monitor.getElapsedSeconds());
+            gauge(out, "gc_collections", "Garbage collections during the run", monitor.getGcCount());
+            gauge(out, "gc_seconds", "Time spent in garbage collection during the run", monitor.getGcMillis() / 1e3);
+            gauge(out, "heap_used_bytes", "Heap in use when the run finished", monitor.getHeapUsed());
+
+            out.write("# HELP " + PREFIX + "stage_seconds Latency of one unit of work in each stage\n");
+            out.write("# TYPE " + PREFIX + "stage_seconds summary\n");
+            for (Instrumentation.Stage stage : stages.values()) {
+                LatencyHistogram latency = stage.getLatency();
+                for (double percentile : PERCENTILES) {
+                    out.write(format("%sstage_seconds{stage=\"%s\",quantile=\"%s\"} %.9f\n", PREFIX, stage.getName(),
+                            BigDecimal.valueOf(percentile).movePointLeft(2).stripTrailingZeros().toPlainString(),
+                            latency.getValueAtPercentile(percentile) / 1e9));
+                }
+                out.write(format("%sstage_seconds_sum{stage=\"%s\"} %.9f\n", PREFIX, stage.getName(), latency.getSum() / 1e9));
+                out.write(format("%sstage_seconds_count{stage=\"%s\"} %d\n", PREFIX, stage.getName(), latency.getCount()));
+            }
+
+            out.write("# HELP " + PREFIX + "stage_rows_total Rows handled by each stage\n");
+            out.write("# TYPE " + PREFIX + "stage_rows_total counter\n");
+            for (Instrumentation.Stage stage : stages.values()) {
+                out.write(format("%sstage_rows_total{stage=\"%s\"} %d\n", PREFIX, stage.getName(), stage.getRows()));
+            }
+
+            out.write("# HELP " + PREFIX + "stage_allocated_bytes_total Heap allocated by threads while in each stage\n");
+            out.write("# TYPE " + PREFIX + "stage_allocated_bytes_total counter\n");
+            for (Instrumentation.Stage stage : stages.values()) {
+                out.write(format("%sstage_allocated_bytes_total{stage=\"%s\"} %d\n",
+                        PREFIX, stage.getName(), stage.getAllocatedBytes()));
+            }
+        }
+    }
+
+    private static void gauge(Writer out, String name, String help, double value) throws IOException {
+        out.write("# HELP " + PREFIX + name + " " + help + "\n");
+        out.write("# TYPE " + PREFIX + name + " gauge\n");
+        out.write(PREFIX + name + " " + (value == Math.rint(value) ? String.valueOf((long) value) : format("%.6f", value)) + "\n");
+    }
+
+    private static String label(double percentile) {
+        return percentile == Math.rint(percentile)
+                ? String.valueOf((long) percentile)
+                : String.valueOf(percentile).replace('.', '_');
+    }
+
+    private static String format(String pattern, Object... args) {
+        return String.format(Locale.ROOT, pattern, args);
+    }
+}
@@ -0,0 +1,101 @@
+package util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class NameKeys {
+
+    private static final String SOUNDEX_CODES = "01230120022455012623010202";
+
+    public static List<String> tokens(String name) {
+        List<String> tokens = new ArrayList<>(4);
+        StringBuilder token = new StringBuilder(16);
+
+        for (int i = 0; i <= name.length(); i++) {
+            char c = i < name.length() ? Character.toLowerCase(name.charAt(i)) : ' ';
+            if (c >= 'a' && c <= 'z') {
+                token.append(c);
+            } else if (c != '\'') {
+                if (token.length() > 1) {
+                    tokens.add(token.toString());
+                }
+                token.setLength(0);
+            }
+        }
+        return tokens;
+    }
+
+    public static String tokenKey(String name) {
+        List<String> tokens = tokens(name);
+        Collections.sort(tokens);
+        return String.join(" ", tokens);
+    }
+
+    public static String phoneticKey(List<String> sortedTokens) {
+        List<String> codes = new ArrayList<>(sortedTokens.size());
+        for (String token : sortedTokens) {
+            codes.add(soundex(token));
+        }
+        Collections.sort(codes);
+        return String.join(" ", codes);
+    }
+
+    public static String soundex(String token) {
+        char[] code = {Character.toUpperCase(token.charAt(0)), '0', '0', '0'};
+        int length = 1;
+        char previous = SOUNDEX_CODES.charAt(token.charAt(0) - 'a');
+
+        for (int i = 1; i < token.length() && length < 4; i++) {
+            char c = token.charAt(i);
+            char digit = SOUNDEX_CODES.charAt(c - 'a');
+
+            if (digit != '0' && digit != previous) {
+                code[length++] = digit;
+            }
+            if (c != 'h' && c != 'w') {
+                previous = digit;
+            }
+        }
+        return new String(code);
+    }
+
+    public static int letterMask(String key) {
+        int mask = 0;
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            if (c >= 'a' && c <= 'z') {
+                mask |= 1 << (c - 'a');
+            }
+        }
+        return mask;
+    }
+
+    public static int editDistance(String a, String b, int maxDistance) {
+        if (Math.abs(a.length() - b.length()) > maxDistance) return maxDistance + 1;
+
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = i;
+            char ca = a.charAt(i - 1);
+
+            for (int j = 1; j <= b.length(); j++) {
+                int substitution = previous[j - 1] + (ca == b.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > maxDistance) return maxDistance + 1;
+
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return Math.min(previous[b.length()], maxDistance + 1);
+    }
+}
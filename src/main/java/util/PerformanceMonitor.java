@@ -1,19 +1,34 @@
 package util;
 
-import java.time.Duration;
-import java.time.Instant;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
 
 public class PerformanceMonitor {
 
-    private final Instant startTime;
+    private static final double MB = 1024.0 * 1024.0;
+
+    private final long startNanos;
     private final AtomicInteger filesProcessed;
     private final AtomicInteger studentsProcessed;
 
+    private final long startGcCount;
+    private final long startGcMillis;
+    private final long startHeapUsed;
+
+    private long elapsedNanos = -1;
+    private long gcCount;
+    private long gcMillis;
+    private long heapUsed;
+
     public PerformanceMonitor() {
-        this.startTime = Instant.now();
+        this.startNanos = System.nanoTime();
         this.filesProcessed = new AtomicInteger(0);
         this.studentsProcessed = new AtomicInteger(0);
+        this.startGcCount = totalGcCount();
+        this.startGcMillis = totalGcMillis();
+        this.startHeapUsed = heapUsed();
     }
 
     public void incrementFilesProcessed() {
@@ -24,19 +39,100 @@ public class PerformanceMonitor {
         studentsProcessed.addAndGet(count);
     }
 
+    public synchronized void finish() {
+        if (elapsedNanos >= 0) return;
+
+        elapsedNanos = System.nanoTime() - startNanos;
+        gcCount = totalGcCount() - startGcCount;
+        gcMillis = totalGcMillis() - startGcMillis;
+        heapUsed = heapUsed();
+    }
+
     public void printSummary() {
-        Duration duration = Duration.between(startTime, Instant.now());
-        long seconds = duration.getSeconds();
-        long millis = duration.toMillis() % 1000;
+        finish();
 
         System.out.println("\n" + "═".repeat(60));
         System.out.println("PERFORMANCE SUMMARY");
         System.out.println("═".repeat(60));
-        System.out.println(String.format("Files Processed:    %d", filesProcessed.get()));
-        System.out.println(String.format("Students Processed: %d", studentsProcessed.get()));
-        System.out.println(String.format("Time Elapsed:       %d.%03d seconds", seconds, millis));
-        System.out.println(String.format("Throughput:         %.2f files/sec",
-                filesProcessed.get() / Math.max(1.0, seconds)));
+        System.out.println(String.format("Files Processed:    %d", getFilesProcessed()));
+        System.out.println(String.format("Students Processed: %d", getStudentsProcessed()));
+        System.out.println(String.format("Time Elapsed:       %.3f seconds", getElapsedSeconds()));
+        System.out.println(String.format("Throughput:         %.2f files/sec", getFilesPerSecond()));
+        System.out.println(String.format("GC:                 %d collection(s), %d ms", gcCount, gcMillis));
+        System.out.println(String.format("Heap Used:          %.1f MB → %.1f MB", startHeapUsed / MB, heapUsed / MB));
+        printStages(Instrumentation.snapshot());
         System.out.println("═".repeat(60));
     }
+
+    public int getFilesProcessed() {
+        return filesProcessed.get();
+    }
+
+    public int getStudentsProcessed() {
+        return studentsProcessed.get();
+    }
+
+    public double getElapsedSeconds() {
+        return (elapsedNanos >= 0 ? elapsedNanos : System.nanoTime() - startNanos) / 1e9;
+    }
+
+    public double getFilesPerSecond() {
+        double seconds = getElapsedSeconds();
+        return seconds == 0 ? 0 : filesProcessed.get() / seconds;
+    }
+
+    public long getGcCount() {
+        return gcCount;
+    }
+
+    public long getGcMillis() {
+        return gcMillis;
+    }
+
+    public long getStartHeapUsed() {
+        return startHeapUsed;
+    }
+
+    public long getHeapUsed() {
+        return heapUsed;
+    }
+
+    private static void printStages(Map<String, Instrumentation.Stage> stages) {
+        if (stages.isEmpty()) return;
+
+        System.out.println("─".repeat(60));
+        System.out.println(String.format("%-22s %6s %8s %8s %8s %10s %8s",
+                "Stage", "Count", "p50 ms", "p99 ms", "Max ms", "Rows/sec", "Alloc MB"));
+
+        for (Instrumentation.Stage stage : stages.values()) {
+            LatencyHistogram latency = stage.getLatency();
+            System.out.println(String.format("%-22s %6d %8.2f %8.2f %8.2f %10.0f %8.1f",
+                    stage.getName(), latency.getCount(),
+                    latency.getValueAtPercentile(50) / 1e6,
+                    latency.getValueAtPercentile(99) / 1e6,
+                    latency.getMax() / 1e6,
+                    stage.getRowsPerSecond(),
+                    stage.getAllocatedBytes() / MB));
+        }
+    }
+
+    private static long totalGcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, gc.getCollectionCount());
+        }
+        return count;
+    }
+
+    private static long totalGcMillis() {
+        long millis = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            millis += Math.max(0, gc.getCollectionTime());
+        }
+        return millis;
+    }
+
+    private static long heapUsed() {
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
 }
@@ -0,0 +1,44 @@
+package util;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class VirtualThreads {
+
+    private static final MethodHandle NEW_PER_TASK_EXECUTOR = findPerTaskExecutorFactory();
+
+    public static boolean isSupported() {
+        if (NEW_PER_TASK_EXECUTOR == null) return false;
+
+        try {
+            newPerTaskExecutor().shutdown();
+            return true;
+        } catch (UnsupportedOperationException e) {
+            return false;
+        }
+    }
+
+    public static ExecutorService newPerTaskExecutor() {
+        if (NEW_PER_TASK_EXECUTOR == null) {
+            throw new UnsupportedOperationException("Virtual threads require Java 21 or newer");
+        }
+
+        try {
+            return (ExecutorService) NEW_PER_TASK_EXECUTOR.invokeExact();
+        } catch (Throwable e) {
+            throw new UnsupportedOperationException("Virtual threads are not available: " + e.getMessage(), e);
+        }
+    }
+
+    private static MethodHandle findPerTaskExecutorFactory() {
+        try {
+            return MethodHandles.publicLookup().findStatic(Executors.class, "newVirtualThreadPerTaskExecutor",
+                    MethodType.methodType(ExecutorService.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package writer;
+
+import model.StudentRanking;
+import model.StudentStore;
+import util.Instrumentation;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ColumnarExporter {
+
+    private static final byte[] MAGIC = {'I', 'T', 'C', 'F'};
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 32;
+
+    private static final byte UTF8 = 1;
+    private static final byte INT32 = 2;
+    private static final byte BITSET = 3;
+
+    public static void write(StudentStore store, List<String> fileNames, Path path) throws IOException {
+        Instrumentation.Span span = Instrumentation.start(Instrumentation.COLUMNAR_WRITE);
+
+        int[] ids = StudentRanking.of(store).all();
+        int words = (fileNames.size() + 63) >>> 6;
+
+        byte[][] emails = new byte[ids.length][];
+        byte[][] names = new byte[ids.length][];
+        int[] counts = new int[ids.length];
+        for (int row = 0; row < ids.length; row++) {
+            emails[row] = store.emailOf(ids[row]).getBytes(StandardCharsets.UTF_8);
+            names[row] = store.nameOf(ids[row]).getBytes(StandardCharsets.UTF_8);
+            counts[row] = store.countOf(ids[row]);
+        }
+
+        byte[][] files = new byte[fileNames.size()][];
+        for (int i = 0; i < files.length; i++) {
+            files[i] = fileNames.get(i).getBytes(StandardCharsets.UTF_8);
+        }
+
+        List<Column> columns = new ArrayList<>();
+        columns.add(new Column("email", UTF8, utf8Size(emails)));
+        columns.add(new Column("name", UTF8, utf8Size(names)));
+        columns.add(new Column("count", INT32, 4L * ids.length));
+        columns.add(new Column("appearances", BITSET, 8L * words * ids.length));
+        columns.add(new Column("file", UTF8, utf8Size(files)));
+
+        long offset = HEADER_SIZE;
+        long directorySize = 0;
+        for (Column column : columns) {
+            column.offset = offset;
+            offset = align(offset + column.size);
+            directorySize += 2 + column.name.length + 1 + 8 + 8;
+        }
+        long directoryOffset = offset;
+        long totalSize = directoryOffset + directorySize;
+
+        if (totalSize > Integer.MAX_VALUE) {
+            throw new IOException("Columnar export exceeds 2 GB");
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer out = channel.map(FileChannel.MapMode.READ_WRITE, 0, totalSize);
+            out.order(ByteOrder.LITTLE_ENDIAN);
+
+            out.put(MAGIC);
+            out.putInt(FORMAT_VERSION);
+            out.putInt(ids.length);
+            out.putInt(fileNames.size());
+            out.putInt(columns.size());
+            out.putInt(0);
+            out.putLong(directoryOffset);
+
+            putUtf8(out, columns.get(0).offset, emails);
+            putUtf8(out, columns.get(1).offset, names);
+
+            out.position((int) columns.get(2).offset);
+            for (int count : counts) {
+                out.putInt(count);
+            }
+
+            out.position((int) columns.get(3).offset);
+            for (int id : ids) {
+                long[] appearances = store.appearancesOf(id).toLongArray();
+                for (int word = 0; word < words; word++) {
+                    out.putLong(word < appearances.length ? appearances[word] : 0);
+                }
+            }
+
+            putUtf8(out, columns.get(4).offset, files);
+
+            out.position((int) directoryOffset);
+            for (Column column : columns) {
+                out.putShort((short) column.name.length);
+                out.put(column.name);
+                out.put(column.type);
+                out.putLong(column.offset);
+                out.putLong(column.size);
+            }
+            out.force();
+        }
+
+        span.stop(ids.length);
+    }
+
+    private static long utf8Size(byte[][] values) {
+        long size = 4L * (values.length + 1);
+        for (byte[] value : values) {
+            size += value.length;
+        }
+        return size;
+    }
+
+    private static void putUtf8(MappedByteBuffer out, long columnOffset, byte[][] values) {
+        out.position((int) columnOffset);
+
+        int end = 0;
+        out.putInt(end);
+        for (byte[] value : values) {
+            end += value.length;
+            out.putInt(end);
+        }
+        for (byte[] value : values) {
+            out.put(value);
+        }
+    }
+
+    private static long align(long offset) {
+        return (offset + 7) & ~7L;
+    }
+
+    private static class Column {
+        final byte[] name;
+        final byte type;
+        final long size;
+        long offset;
+
+        Column(String name, byte type, long size) {
+            this.name = name.getBytes(StandardCharsets.UTF_8);
+            this.type = type;
+            this.size = size;
+        }
+    }
+}
@@ -1,74 +1,284 @@
 package writer;
 
+import model.StudentRanking;
 import model.StudentRecord;
+import model.StudentStore;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.apache.commons.compress.archivers.zip.ZipFile;
+import org.apache.poi.ss.SpreadsheetVersion;
 import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import util.Instrumentation;
 
-import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
 import java.util.List;
-import java.util.Map;
+import java.util.Optional;
 
 public class ReportGenerator {
 
-    public static void generateReport(Map<String, StudentRecord> studentMap, String outputPath) {
-        if (studentMap.isEmpty()) {
+    private static final int ROW_WINDOW = 500;
+    private static final long ENTRY_TIME =
+            LocalDateTime.of(1980, 1, 1, 0, 0).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    private static final String[] HEADERS = {"Rank", "Name", "Email", "Total_Count", "Dense_Rank", "Percentile"};
+    private static final String[] MATRIX_HEADERS = {"Name", "Email", "Total_Count"};
+    private static final String[] COMPANY_HEADERS = {"Company", "Students", "Only_Here"};
+    private static final String[] DELTA_HEADERS =
+            {"Change", "Name", "Email", "Old_Count", "New_Count", "Old_Rank", "New_Rank"};
+
+    public static void generateReport(StudentStore store, String outputPath) {
+        generateReport(store, outputPath, null);
+    }
+
+    public static void generateReport(StudentStore store, String outputPath, List<String> companies) {
+        generateReport(store, outputPath, companies, null);
+    }
+
+    public static void generateReport(StudentStore store, String outputPath, List<String> companies,
+                                      Path snapshotFile) {
+        if (store.size() == 0) {
             System.out.println("\n⚠️  No student records to export.");
             return;
         }
 
-        List<StudentRecord> sortedStudents = new ArrayList<>(studentMap.values());
-        sortedStudents.sort((s1, s2) -> Integer.compare(s2.getTotalCount(), s1.getTotalCount()));
+        StudentRanking ranking = StudentRanking.of(store);
+        printConsoleReport(store, ranking);
+
+        int[] ranked = ranking.all();
+        List<StudentRecord> sortedStudents = new ArrayList<>(ranked.length);
+        for (int id : ranked) {
+            sortedStudents.add(store.recordOf(id));
+        }
+
+        if (snapshotFile == null) {
+            exportToExcel(sortedStudents, companies, outputPath);
+            return;
+        }
 
-        printConsoleReport(sortedStudents);
-        exportToExcel(sortedStudents, outputPath);
+        ReportSnapshot current = ReportSnapshot.of(sortedStudents, companies);
+        ReportSnapshot previous = ReportSnapshot.load(snapshotFile);
+        if (previous == null) {
+            deleteStaleDelta(deltaPathFor(outputPath));
+        } else {
+            List<ReportSnapshot.Change> changes = current.changesSince(previous);
+            printDelta(changes);
+            exportDelta(changes, deltaPathFor(outputPath));
+
+            if (current.sameReportAs(previous) && Files.isRegularFile(Paths.get(outputPath))) {
+                System.out.println("\n✓ Report unchanged, kept: " + outputPath);
+                return;
+            }
+        }
+
+        if (exportToExcel(sortedStudents, companies, outputPath)) {
+            current.save(snapshotFile);
+        }
     }
 
-    private static void printConsoleReport(List<StudentRecord> students) {
-        System.out.println("\n" + "═".repeat(60));
+    public static String deltaPathFor(String outputPath) {
+        int dot = outputPath.lastIndexOf('.');
+        return dot > 0 ? outputPath.substring(0, dot) + "_Delta" + outputPath.substring(dot) : outputPath + "_Delta";
+    }
+
+    private static void printConsoleReport(StudentStore store, StudentRanking ranking) {
+        System.out.println("\n" + "═".repeat(66));
         System.out.println("FINAL REPORT (Sorted: Highest → Lowest Interview Count)");
-        System.out.println("═".repeat(60));
-        System.out.println(String.format("%-4s %-28s %-24s %s", "Rank", "Name", "Email", "Count"));
-        System.out.println("─".repeat(60));
+        System.out.println("═".repeat(66));
+        System.out.println(String.format("%-4s %-28s %-24s %5s %s", "Rank", "Name", "Email", "Count", "Pctl"));
+        System.out.println("─".repeat(66));
+
+        int[] top = ranking.top(10);
+        for (int i = 0; i < top.length; i++) {
+            int count = store.countOf(top[i]);
+            System.out.println(String.format("%-4d %-28s %-24s %5d %4.1f",
+                    (i + 1),
+                    truncate(store.nameOf(top[i]), 28),
+                    truncate(store.emailOf(top[i]), 24),
+                    count,
+                    ranking.percentileOf(count)));
+        }
 
-        int limit = Math.min(10, students.size());
+        if (ranking.size() > top.length) {
+            System.out.println("... and " + (ranking.size() - top.length) + " more");
+        }
+        System.out.println("═".repeat(66));
+    }
+
+    private static void printDelta(List<ReportSnapshot.Change> changes) {
+        int[] counts = new int[ReportSnapshot.ChangeType.values().length];
+        for (ReportSnapshot.Change change : changes) {
+            counts[change.getType().ordinal()]++;
+        }
+
+        System.out.println(String.format("\nChanges since last run: %d new, %d count changes, %d removed, %d rank moves",
+                counts[ReportSnapshot.ChangeType.NEW.ordinal()],
+                counts[ReportSnapshot.ChangeType.COUNT_CHANGED.ordinal()],
+                counts[ReportSnapshot.ChangeType.REMOVED.ordinal()],
+                counts[ReportSnapshot.ChangeType.RANK_MOVED.ordinal()]));
+
+        int limit = Math.min(10, changes.size());
         for (int i = 0; i < limit; i++) {
-            StudentRecord student = students.get(i);
-            System.out.println(String.format("%-4d %-28s %-24s %d",
-                    (i + 1),
-                    truncate(student.getName(), 28),
-                    truncate(student.getEmail(), 24),
-                    student.getTotalCount()));
+            ReportSnapshot.Change change = changes.get(i);
+            System.out.println(String.format("  %-13s %-28s %-24s %3s → %-3s %5s → %s",
+                    change.getType().name().toLowerCase().replace('_', ' '),
+                    truncate(change.getName(), 28),
+                    truncate(change.getEmail(), 24),
+                    orDash("", change.getOldCount()), orDash("", change.getNewCount()),
+                    orDash("#", change.getOldRank()), orDash("#", change.getNewRank())));
         }
 
-        if (students.size() > 10) {
-            System.out.println("... and " + (students.size() - 10) + " more");
+        if (changes.size() > 10) {
+            System.out.println("  ... and " + (changes.size() - 10) + " more");
+        }
+    }
+
+    private static void exportDelta(List<ReportSnapshot.Change> changes, String deltaPath) {
+        try {
+            writeDeltaWorkbook(changes, deltaPath);
+            System.out.println("✓ Delta exported to: " + deltaPath);
+        } catch (IOException e) {
+            System.err.println("❌ Error writing delta report: " + e.getMessage());
+        }
+    }
+
+    private static void deleteStaleDelta(String deltaPath) {
+        try {
+            Files.deleteIfExists(Paths.get(deltaPath));
+        } catch (IOException e) {
+            System.err.println("⚠️  Could not remove stale delta report: " + e.getMessage());
         }
-        System.out.println("═".repeat(60));
     }
 
-    private static void exportToExcel(List<StudentRecord> students, String outputPath) {
-        try (Workbook workbook = new XSSFWorkbook()) {
+    private static boolean exportToExcel(List<StudentRecord> students, List<String> companies, String outputPath) {
+        try {
+            Instrumentation.Span span = Instrumentation.start(Instrumentation.REPORT_WRITE);
+            writeWorkbook(students, companies, outputPath);
+            span.stop(students.size());
+
+            System.out.println("\n✓ Report exported to: " + outputPath);
+            System.out.println("  Total unique students: " + students.size());
+            return true;
+
+        } catch (IOException e) {
+            System.err.println("❌ Error writing Excel report: " + e.getMessage());
+            return false;
+        }
+    }
+
+    public static void writeWorkbook(List<StudentRecord> students, String outputPath) throws IOException {
+        writeWorkbook(students, null, outputPath);
+    }
+
+    public static void writeWorkbook(List<StudentRecord> students, List<String> companies,
+                                     String outputPath) throws IOException {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(ROW_WINDOW);
+        workbook.getXSSFWorkbook().getProperties().getCoreProperties().setCreated(Optional.empty());
+
+        try {
             Sheet sheet = workbook.createSheet("Interview Report");
 
             CellStyle headerStyle = createHeaderStyle(workbook);
             CellStyle dataStyle = createDataStyle(workbook);
             CellStyle rankStyle = createRankStyle(workbook);
+            CellStyle percentileStyle = createPercentileStyle(workbook, rankStyle);
+
+            int[] maxLengths = new int[HEADERS.length];
+            createHeaderRow(sheet, HEADERS, headerStyle, maxLengths);
+            populateDataRows(sheet, students, dataStyle, rankStyle, percentileStyle, maxLengths);
+            sizeColumns(sheet, maxLengths);
+
+            if (companies != null) {
+                if (MATRIX_HEADERS.length + companies.size() <= SpreadsheetVersion.EXCEL2007.getMaxColumns()) {
+                    writeMatrixSheet(workbook.createSheet("Appearance Matrix"), students, companies,
+                            headerStyle, dataStyle, rankStyle);
+                } else {
+                    System.err.println("⚠️  Skipping Appearance Matrix: " + companies.size()
+                            + " companies exceed the sheet's column limit");
+                }
+                writeCompanyTotals(workbook.createSheet("Company Totals"), students, companies,
+                        headerStyle, dataStyle, rankStyle);
+            }
+
+            save(workbook, outputPath);
+        } finally {
+            workbook.dispose();
+            workbook.close();
+        }
+    }
 
-            createHeaderRow(sheet, headerStyle);
-            populateDataRows(sheet, students, dataStyle, rankStyle);
-            autoSizeColumns(sheet);
+    public static void writeDeltaWorkbook(List<ReportSnapshot.Change> changes, String outputPath) throws IOException {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(ROW_WINDOW);
+        workbook.getXSSFWorkbook().getProperties().getCoreProperties().setCreated(Optional.empty());
 
-            try (FileOutputStream fileOut = new FileOutputStream(outputPath)) {
-                workbook.write(fileOut);
+        try {
+            Sheet sheet = workbook.createSheet("Changes");
+
+            CellStyle headerStyle = createHeaderStyle(workbook);
+            CellStyle dataStyle = createDataStyle(workbook);
+            CellStyle rankStyle = createRankStyle(workbook);
+
+            int[] maxLengths = new int[DELTA_HEADERS.length];
+            createHeaderRow(sheet, DELTA_HEADERS, headerStyle, maxLengths);
+
+            for (int i = 0; i < changes.size(); i++) {
+                Row row = sheet.createRow(i + 1);
+                ReportSnapshot.Change change = changes.get(i);
+
+                String[] text = {change.getType().name(), change.getName(), change.getEmail()};
+                for (int column = 0; column < text.length; column++) {
+                    Cell cell = row.createCell(column);
+                    cell.setCellValue(text[column]);
+                    cell.setCellStyle(dataStyle);
+                    trackLength(maxLengths, column, text[column].length());
+                }
+
+                int[] numbers = {change.getOldCount(), change.getNewCount(), change.getOldRank(), change.getNewRank()};
+                for (int column = 0; column < numbers.length; column++) {
+                    Cell cell = row.createCell(text.length + column);
+                    if (numbers[column] > 0) {
+                        cell.setCellValue(numbers[column]);
+                    }
+                    cell.setCellStyle(rankStyle);
+                }
             }
+            sizeColumns(sheet, maxLengths);
 
-            System.out.println("\n✓ Report exported to: " + outputPath);
-            System.out.println("  Total unique students: " + students.size());
+            save(workbook, outputPath);
+        } finally {
+            workbook.dispose();
+            workbook.close();
+        }
+    }
 
-        } catch (IOException e) {
-            System.err.println("❌ Error writing Excel report: " + e.getMessage());
+    private static void save(SXSSFWorkbook workbook, String outputPath) throws IOException {
+        Path output = Paths.get(outputPath);
+        Path unstamped = output.resolveSibling(output.getFileName() + ".tmp");
+
+        try {
+            try (OutputStream out = Files.newOutputStream(unstamped)) {
+                workbook.write(out);
+            }
+
+            try (ZipFile zip = new ZipFile(unstamped.toFile());
+                 ZipArchiveOutputStream out = new ZipArchiveOutputStream(output.toFile())) {
+                for (ZipArchiveEntry entry : Collections.list(zip.getEntriesInPhysicalOrder())) {
+                    ZipArchiveEntry stamped = new ZipArchiveEntry(entry);
+                    stamped.setTime(ENTRY_TIME);
+                    out.addRawArchiveEntry(stamped, zip.getRawInputStream(entry));
+                }
+            }
+        } finally {
+            Files.deleteIfExists(unstamped);
         }
     }
 
@@ -123,50 +333,210 @@ public class ReportGenerator {
         return style;
     }
 
-    private static void createHeaderRow(Sheet sheet, CellStyle headerStyle) {
+    private static CellStyle createPercentileStyle(Workbook workbook, CellStyle rankStyle) {
+        CellStyle style = workbook.createCellStyle();
+        style.cloneStyleFrom(rankStyle);
+        style.setDataFormat(workbook.createDataFormat().getFormat("0.0"));
+        return style;
+    }
+
+    private static void createHeaderRow(Sheet sheet, String[] headers, CellStyle headerStyle, int[] maxLengths) {
         Row headerRow = sheet.createRow(0);
         headerRow.setHeightInPoints(25);
 
-        String[] headers = {"Rank", "Name", "Email", "Total_Count"};
-
         for (int i = 0; i < headers.length; i++) {
             Cell cell = headerRow.createCell(i);
             cell.setCellValue(headers[i]);
             cell.setCellStyle(headerStyle);
+            trackLength(maxLengths, i, headers[i].length());
         }
     }
 
-    private static void populateDataRows(Sheet sheet, List<StudentRecord> students,
-                                         CellStyle dataStyle, CellStyle rankStyle) {
+    private static void populateDataRows(Sheet sheet, List<StudentRecord> students, CellStyle dataStyle,
+                                         CellStyle rankStyle, CellStyle percentileStyle, int[] maxLengths) {
+        int denseRank = 0;
+        int tiedUntil = 0;
+        double percentile = 0;
+
         for (int i = 0; i < students.size(); i++) {
             Row row = sheet.createRow(i + 1);
             StudentRecord student = students.get(i);
 
+            if (i == tiedUntil) {
+                tiedUntil = i + 1;
+                while (tiedUntil < students.size()
+                        && students.get(tiedUntil).getTotalCount() == student.getTotalCount()) {
+                    tiedUntil++;
+                }
+                denseRank++;
+                percentile = StudentRanking.percentile(students.size() - tiedUntil, tiedUntil - i, students.size());
+            }
+
             Cell rankCell = row.createCell(0);
             rankCell.setCellValue(i + 1);
             rankCell.setCellStyle(rankStyle);
+            trackLength(maxLengths, 0, digits(i + 1));
 
             Cell nameCell = row.createCell(1);
             nameCell.setCellValue(student.getName());
             nameCell.setCellStyle(dataStyle);
+            trackLength(maxLengths, 1, student.getName().length());
 
             Cell emailCell = row.createCell(2);
             emailCell.setCellValue(student.getEmail());
             emailCell.setCellStyle(dataStyle);
+            trackLength(maxLengths, 2, student.getEmail().length());
 
             Cell countCell = row.createCell(3);
             countCell.setCellValue(student.getTotalCount());
             countCell.setCellStyle(rankStyle);
+            trackLength(maxLengths, 3, digits(student.getTotalCount()));
+
+            Cell denseRankCell = row.createCell(4);
+            denseRankCell.setCellValue(denseRank);
+            denseRankCell.setCellStyle(rankStyle);
+
+            Cell percentileCell = row.createCell(5);
+            percentileCell.setCellValue(percentile);
+            percentileCell.setCellStyle(percentileStyle);
+        }
+    }
+
+    private static void writeMatrixSheet(Sheet sheet, List<StudentRecord> students, List<String> companies,
+                                         CellStyle headerStyle, CellStyle dataStyle, CellStyle rankStyle) {
+        int[] maxLengths = new int[MATRIX_HEADERS.length + companies.size()];
+        Row headerRow = sheet.createRow(0);
+        headerRow.setHeightInPoints(25);
+
+        for (int i = 0; i < maxLengths.length; i++) {
+            String header = i < MATRIX_HEADERS.length
+                    ? MATRIX_HEADERS[i]
+                    : companyName(companies.get(i - MATRIX_HEADERS.length));
+            Cell cell = headerRow.createCell(i);
+            cell.setCellValue(header);
+            cell.setCellStyle(headerStyle);
+            trackLength(maxLengths, i, header.length());
+        }
+
+        for (int i = 0; i < students.size(); i++) {
+            Row row = sheet.createRow(i + 1);
+            StudentRecord student = students.get(i);
+
+            Cell nameCell = row.createCell(0);
+            nameCell.setCellValue(student.getName());
+            nameCell.setCellStyle(dataStyle);
+            trackLength(maxLengths, 0, student.getName().length());
+
+            Cell emailCell = row.createCell(1);
+            emailCell.setCellValue(student.getEmail());
+            emailCell.setCellStyle(dataStyle);
+            trackLength(maxLengths, 1, student.getEmail().length());
+
+            Cell countCell = row.createCell(2);
+            countCell.setCellValue(student.getTotalCount());
+            countCell.setCellStyle(rankStyle);
+
+            BitSet appearances = student.getAppearances();
+            for (int company = appearances.nextSetBit(0); company >= 0 && company < companies.size();
+                 company = appearances.nextSetBit(company + 1)) {
+                Cell cell = row.createCell(MATRIX_HEADERS.length + company);
+                cell.setCellValue(1);
+                cell.setCellStyle(rankStyle);
+            }
+        }
+
+        sheet.createFreezePane(MATRIX_HEADERS.length, 1);
+        sizeColumns(sheet, maxLengths);
+    }
+
+    private static void writeCompanyTotals(Sheet sheet, List<StudentRecord> students, List<String> companies,
+                                           CellStyle headerStyle, CellStyle dataStyle, CellStyle rankStyle) {
+        BitSet[] shortlisted = new BitSet[companies.size()];
+        for (int company = 0; company < shortlisted.length; company++) {
+            shortlisted[company] = new BitSet(students.size());
+        }
+        BitSet singleCompany = new BitSet(students.size());
+
+        for (int i = 0; i < students.size(); i++) {
+            BitSet appearances = students.get(i).getAppearances();
+            for (int company = appearances.nextSetBit(0); company >= 0 && company < shortlisted.length;
+                 company = appearances.nextSetBit(company + 1)) {
+                shortlisted[company].set(i);
+            }
+            if (appearances.cardinality() == 1) {
+                singleCompany.set(i);
+            }
+        }
+
+        Integer[] order = new Integer[companies.size()];
+        int[] totals = new int[companies.size()];
+        int[] exclusive = new int[companies.size()];
+        for (int company = 0; company < order.length; company++) {
+            order[company] = company;
+            totals[company] = shortlisted[company].cardinality();
+
+            BitSet only = (BitSet) shortlisted[company].clone();
+            only.and(singleCompany);
+            exclusive[company] = only.cardinality();
+        }
+        Arrays.sort(order, (a, b) -> Integer.compare(totals[b], totals[a]));
+
+        int[] maxLengths = new int[COMPANY_HEADERS.length];
+        createHeaderRow(sheet, COMPANY_HEADERS, headerStyle, maxLengths);
+
+        for (int i = 0; i < order.length; i++) {
+            int company = order[i];
+            Row row = sheet.createRow(i + 1);
+
+            String name = companyName(companies.get(company));
+            Cell nameCell = row.createCell(0);
+            nameCell.setCellValue(name);
+            nameCell.setCellStyle(dataStyle);
+            trackLength(maxLengths, 0, name.length());
+
+            Cell totalCell = row.createCell(1);
+            totalCell.setCellValue(totals[company]);
+            totalCell.setCellStyle(rankStyle);
+
+            Cell exclusiveCell = row.createCell(2);
+            exclusiveCell.setCellValue(exclusive[company]);
+            exclusiveCell.setCellStyle(rankStyle);
+        }
+
+        sizeColumns(sheet, maxLengths);
+    }
+
+    private static String companyName(String fileName) {
+        int dot = fileName.lastIndexOf('.');
+        return dot > 0 ? fileName.substring(0, dot) : fileName;
+    }
+
+    private static void trackLength(int[] maxLengths, int column, int length) {
+        if (length > maxLengths[column]) {
+            maxLengths[column] = length;
+        }
+    }
+
+    private static int digits(int value) {
+        int digits = 1;
+        while (value >= 10) {
+            value /= 10;
+            digits++;
         }
+        return digits;
     }
 
-    private static void autoSizeColumns(Sheet sheet) {
-        for (int i = 0; i < 4; i++) {
-            sheet.autoSizeColumn(i);
-            sheet.setColumnWidth(i, sheet.getColumnWidth(i) + 1000);
+    private static void sizeColumns(Sheet sheet, int[] maxLengths) {
+        for (int i = 0; i < maxLengths.length; i++) {
+            int width = (maxLengths[i] + 1) * 256 + 1000;
+            sheet.setColumnWidth(i, Math.min(width, 255 * 256));
         }
     }
 
+    private static String orDash(String prefix, int value) {
+        return value > 0 ? prefix + value : "-";
+    }
+
     private static String truncate(String str, int maxLength) {
         return str.length() > maxLength ? str.substring(0, maxLength - 3) + "..." : str;
     }
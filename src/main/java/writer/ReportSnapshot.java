@@ -0,0 +1,241 @@
+package writer;
+
+import model.StudentRecord;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+public class ReportSnapshot {
+
+    public enum ChangeType {
+        NEW, COUNT_CHANGED, REMOVED, RANK_MOVED
+    }
+
+    private static final int MAGIC = 0x49545253;
+    private static final int FORMAT_VERSION = 1;
+    private static final long[] NO_APPEARANCES = new long[0];
+
+    private final List<String> companies;
+    private final String[] emails;
+    private final String[] names;
+    private final int[] counts;
+    private final long[][] appearances;
+    private final int[] ranks;
+
+    private ReportSnapshot(List<String> companies, String[] emails, String[] names, int[] counts,
+                           long[][] appearances) {
+        this.companies = companies;
+        this.emails = emails;
+        this.names = names;
+        this.counts = counts;
+        this.appearances = appearances;
+        this.ranks = new int[counts.length];
+
+        for (int i = 0; i < counts.length; i++) {
+            ranks[i] = i == 0 ? 1 : counts[i] == counts[i - 1] ? ranks[i - 1] : ranks[i - 1] + 1;
+        }
+    }
+
+    public static ReportSnapshot of(List<StudentRecord> sortedStudents, List<String> companies) {
+        int size = sortedStudents.size();
+        String[] emails = new String[size];
+        String[] names = new String[size];
+        int[] counts = new int[size];
+        long[][] appearances = new long[size][];
+
+        for (int i = 0; i < size; i++) {
+            StudentRecord student = sortedStudents.get(i);
+            emails[i] = student.getEmail();
+            names[i] = student.getName();
+            counts[i] = student.getTotalCount();
+            appearances[i] = companies == null ? NO_APPEARANCES : student.getAppearances().toLongArray();
+        }
+
+        return new ReportSnapshot(companies == null ? null : new ArrayList<>(companies),
+                emails, names, counts, appearances);
+    }
+
+    public static ReportSnapshot load(Path snapshotFile) {
+        if (!Files.isRegularFile(snapshotFile)) {
+            return null;
+        }
+
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(snapshotFile), 1 << 16))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+                return null;
+            }
+
+            long limit = Files.size(snapshotFile);
+            List<String> companies = null;
+            int companyCount = in.readInt();
+            if (companyCount != -1) {
+                checkCount(companyCount, limit);
+                companies = new ArrayList<>(companyCount);
+                for (int i = 0; i < companyCount; i++) {
+                    companies.add(in.readUTF());
+                }
+            }
+
+            int size = checkCount(in.readInt(), limit);
+            String[] emails = new String[size];
+            String[] names = new String[size];
+            int[] counts = new int[size];
+            long[][] appearances = new long[size][];
+            for (int i = 0; i < size; i++) {
+                emails[i] = in.readUTF();
+                names[i] = in.readUTF();
+                counts[i] = in.readInt();
+                appearances[i] = new long[in.readUnsignedShort()];
+                for (int word = 0; word < appearances[i].length; word++) {
+                    appearances[i][word] = in.readLong();
+                }
+            }
+
+            return new ReportSnapshot(companies, emails, names, counts, appearances);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("⚠️  Ignoring unreadable report snapshot: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static int checkCount(int count, long limit) throws IOException {
+        if (count < 0 || count > limit) {
+            throw new IOException("Corrupt count " + count);
+        }
+        return count;
+    }
+
+    public void save(Path snapshotFile) {
+        Path tempFile = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(tempFile), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+
+            out.writeInt(companies == null ? -1 : companies.size());
+            if (companies != null) {
+                for (String company : companies) {
+                    out.writeUTF(company);
+                }
+            }
+
+            out.writeInt(emails.length);
+            for (int i = 0; i < emails.length; i++) {
+                out.writeUTF(emails[i]);
+                out.writeUTF(names[i]);
+                out.writeInt(counts[i]);
+                out.writeShort(appearances[i].length);
+                for (long word : appearances[i]) {
+                    out.writeLong(word);
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("⚠️  Could not write report snapshot: " + e.getMessage());
+            return;
+        }
+
+        try {
+            Files.move(tempFile, snapshotFile, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            System.err.println("⚠️  Could not write report snapshot: " + e.getMessage());
+        }
+    }
+
+    public boolean sameReportAs(ReportSnapshot other) {
+        return Objects.equals(companies, other.companies)
+                && Arrays.equals(emails, other.emails)
+                && Arrays.equals(names, other.names)
+                && Arrays.equals(counts, other.counts)
+                && Arrays.deepEquals(appearances, other.appearances);
+    }
+
+    public List<Change> changesSince(ReportSnapshot previous) {
+        Map<String, Integer> previousRows = new HashMap<>(previous.emails.length * 2);
+        for (int i = 0; i < previous.emails.length; i++) {
+            previousRows.put(previous.emails[i], i);
+        }
+
+        List<Change> changes = new ArrayList<>();
+        for (int i = 0; i < emails.length; i++) {
+            Integer row = previousRows.remove(emails[i]);
+            if (row == null) {
+                changes.add(new Change(ChangeType.NEW, names[i], emails[i], 0, counts[i], 0, ranks[i]));
+            } else if (previous.counts[row] != counts[i]) {
+                changes.add(new Change(ChangeType.COUNT_CHANGED, names[i], emails[i],
+                        previous.counts[row], counts[i], previous.ranks[row], ranks[i]));
+            } else if (previous.ranks[row] != ranks[i]) {
+                changes.add(new Change(ChangeType.RANK_MOVED, names[i], emails[i],
+                        previous.counts[row], counts[i], previous.ranks[row], ranks[i]));
+            }
+        }
+
+        for (int row = 0; row < previous.emails.length; row++) {
+            if (previousRows.containsKey(previous.emails[row])) {
+                changes.add(new Change(ChangeType.REMOVED, previous.names[row], previous.emails[row],
+                        previous.counts[row], 0, previous.ranks[row], 0));
+            }
+        }
+
+        changes.sort(Comparator.comparing(Change::getType));
+        return changes;
+    }
+
+    public static class Change {
+        private final ChangeType type;
+        private final String name;
+        private final String email;
+        private final int oldCount;
+        private final int newCount;
+        private final int oldRank;
+        private final int newRank;
+
+        Change(ChangeType type, String name, String email, int oldCount, int newCount, int oldRank, int newRank) {
+            this.type = type;
+            this.name = name;
+            this.email = email;
+            this.oldCount = oldCount;
+            this.newCount = newCount;
+            this.oldRank = oldRank;
+            this.newRank = newRank;
+        }
+
+        public ChangeType getType() {
+            return type;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getEmail() {
+            return email;
+        }
+
+        public int getOldCount() {
+            return oldCount;
+        }
+
+        public int getNewCount() {
+            return newCount;
+        }
+
+        public int getOldRank() {
+            return oldRank;
+        }
+
+        public int getNewRank() {
+            return newRank;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package cache;
+
+import model.ExtractedFile;
+import model.ExtractedSheet;
+import model.SheetClass;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ParsedFileCacheTest {
+
+    @Test
+    void returnsSavedExtractForUnchangedFile(@TempDir Path dir) throws Exception {
+        File input = shortlist(dir);
+        Path cacheFile = dir.resolve(".interview-tracker-cache");
+        saveCache(cacheFile, input);
+
+        ExtractedFile cached = ParsedFileCache.load(cacheFile).get(input);
+
+        assertNotNull(cached);
+        assertEquals("shortlist.csv", cached.getFileName());
+        assertEquals("asha@example.com", cached.getSheets().get(0).getEmail(0));
+        assertEquals(SheetClass.EMAIL_BEARING, cached.getSheetClasses()[0]);
+    }
+
+    @Test
+    void treatsCorruptCacheAsEmpty(@TempDir Path dir) throws Exception {
+        File input = shortlist(dir);
+        Path cacheFile = dir.resolve(".interview-tracker-cache");
+        saveCache(cacheFile, input);
+        byte[] saved = Files.readAllBytes(cacheFile);
+
+        for (int offset = 8; offset < saved.length; offset++) {
+            for (byte value : new byte[]{(byte) 0xFF, (byte) 0x7F, 0}) {
+                byte[] corrupt = saved.clone();
+                corrupt[offset] = value;
+                Files.write(cacheFile, corrupt);
+
+                assertDoesNotThrow(() -> ParsedFileCache.load(cacheFile).get(input), "offset " + offset);
+            }
+        }
+
+        Files.write(cacheFile, new byte[]{0x49, 0x43, 0x54, 0x43, 0, 0, 0, 2, (byte) 0x7F, (byte) 0xFF, (byte) 0xFF, 0});
+        assertNull(ParsedFileCache.load(cacheFile).get(input));
+    }
+
+    private static File shortlist(Path dir) throws Exception {
+        Path input = dir.resolve("shortlist.csv");
+        Files.writeString(input, "Name,Email\nAsha Patil,asha@example.com\n");
+        return input.toFile();
+    }
+
+    private static void saveCache(Path cacheFile, File input) {
+        ExtractedSheet sheet = new ExtractedSheet("Sheet1", true);
+        sheet.addRow("Asha Patil", "asha@example.com");
+
+        ParsedFileCache cache = ParsedFileCache.load(cacheFile);
+        cache.put(input, new ExtractedFile(input.getName(), 1, List.of(sheet),
+                new SheetClass[]{SheetClass.EMAIL_BEARING}));
+        cache.save();
+    }
+}
@@ -0,0 +1,91 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NameMatcherTest {
+
+    private StudentStore store;
+    private NameMatcher matcher;
+
+    @BeforeEach
+    void buildMatcher() {
+        store = new StudentStore();
+        BitSet observed = new BitSet();
+        store.observe("sujal@example.com", "Sujal Sudhir Patil", observed);
+        store.observe("aditya@example.com", "Aditya Kulkarni", observed);
+        store.observe("girish@example.com", "Girish Kale", observed);
+        store.observe("rahul.one@example.com", "Rahul Kumar Shah", observed);
+        store.observe("rahul.two@example.com", "Shah Rahul Kumar", observed);
+        store.resolveNames();
+        matcher = NameMatcher.build(store);
+    }
+
+    @Test
+    void matchesNormalizedNameExactly() {
+        NameMatcher.Match match = matcher.match("  SUJAL sudhir PATIL ");
+
+        assertEquals(NameMatcher.MatchType.EXACT, match.getType());
+        assertEquals(store.find("sujal@example.com"), match.getId());
+        assertFalse(match.isFuzzy());
+    }
+
+    @Test
+    void matchesReorderedTokens() {
+        NameMatcher.Match match = matcher.match("Patil Sujal Sudhir");
+
+        assertEquals(NameMatcher.MatchType.TOKEN_SORTED, match.getType());
+        assertEquals(store.find("sujal@example.com"), match.getId());
+        assertTrue(match.isFuzzy());
+    }
+
+    @Test
+    void leavesAmbiguousTokenKeysUnmatched() {
+        NameMatcher.Match match = matcher.match("Kumar Rahul Shah");
+
+        assertEquals(NameMatcher.MatchType.UNMATCHED, match.getType());
+        assertEquals(StudentStore.NO_STUDENT, match.getId());
+    }
+
+    @Test
+    void matchesSameSoundexSpelling() {
+        NameMatcher.Match match = matcher.match("Aditya Kulkarny");
+
+        assertEquals(NameMatcher.MatchType.PHONETIC, match.getType());
+        assertEquals(store.find("aditya@example.com"), match.getId());
+    }
+
+    @Test
+    void matchesWithinEditDistance() {
+        NameMatcher.Match match = matcher.match("Girish Kane");
+
+        assertEquals(NameMatcher.MatchType.EDIT_DISTANCE, match.getType());
+        assertEquals(store.find("girish@example.com"), match.getId());
+    }
+
+    @Test
+    void leavesDistantNamesUnmatched() {
+        assertEquals(NameMatcher.MatchType.UNMATCHED, matcher.match("Manaswi Hire").getType());
+        assertEquals(NameMatcher.MatchType.UNMATCHED, matcher.match("12345").getType());
+    }
+
+    @Test
+    void countsMatchesByType() {
+        matcher.match("Sujal Sudhir Patil");
+        matcher.match("Kale Girish");
+        matcher.match("Girish Kane");
+        matcher.match("Nobody Here");
+
+        assertEquals(1, matcher.getMatchCount(NameMatcher.MatchType.EXACT));
+        assertEquals(1, matcher.getMatchCount(NameMatcher.MatchType.TOKEN_SORTED));
+        assertEquals(0, matcher.getMatchCount(NameMatcher.MatchType.PHONETIC));
+        assertEquals(1, matcher.getMatchCount(NameMatcher.MatchType.EDIT_DISTANCE));
+        assertEquals(1, matcher.getMatchCount(NameMatcher.MatchType.UNMATCHED));
+    }
+}
@@ -0,0 +1,155 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+import util.ExcelUtils;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class StudentStoreTest {
+
+    private static final String[][][] FILES = {
+            {
+                    {"sujal@example.com", "SUJAL PATIL"},
+                    {"aditya@example.com", "Aditya Kulkarni"},
+                    {"rahul.one@example.com", "Rahul Shah"},
+                    {"pranav@example.com", "pranav"},
+            },
+            {
+                    {"sujal@example.com", "Sujal Patil"},
+                    {"aditya@example.com", "Aditya Vinod Kulkarni"},
+                    {"rahul.two@example.com", "Rahul Shah"},
+                    {"pranav@example.com", "Pranav Hire"},
+            },
+            {
+                    {"sujal@example.com", "Sujal Sudhir Patil"},
+                    {"aditya@example.com", "Aditya Kulkarni"},
+                    {"rahul.two@example.com", "Rahul Shah"},
+                    {"rahul.one@example.com", "Rahul Shah"},
+                    {"girish@example.com", "12345"},
+            },
+            {
+                    {"girish@example.com", "GIRISH KALE"},
+                    {"girish@example.com", "Girish Kale"},
+                    {"pranav@example.com", "PRANAV HIRE"},
+            },
+    };
+
+    @Test
+    void picksDisplayNamesByFilesThenSpelling() {
+        StudentStore store = resolve(0);
+
+        assertEquals("Sujal Sudhir Patil", nameOf(store, "sujal@example.com"));
+        assertEquals("Aditya Kulkarni", nameOf(store, "aditya@example.com"));
+        assertEquals("Pranav Hire", nameOf(store, "pranav@example.com"));
+        assertEquals("Girish Kale", nameOf(store, "girish@example.com"));
+    }
+
+    @Test
+    void mapsNamesToEmailSeenInMostFiles() {
+        StudentStore store = resolve(0);
+
+        assertEquals(store.find("rahul.one@example.com"), store.studentForName(ExcelUtils.normalizeName("Rahul Shah")));
+        assertEquals(store.find("sujal@example.com"), store.studentForName("sujalpatil"));
+        assertEquals(StudentStore.NO_STUDENT, store.studentForName("nobody"));
+    }
+
+    @Test
+    void resolvesSameNamesRegardlessOfObservationOrder() {
+        StudentStore expected = resolve(0);
+
+        for (long seed = 1; seed <= 20; seed++) {
+            StudentStore store = resolve(seed);
+            for (String[][] file : FILES) {
+                for (String[] row : file) {
+                    String email = row[0];
+                    String normalized = ExcelUtils.normalizeName(row[1]);
+                    assertEquals(nameOf(expected, email), nameOf(store, email), "seed " + seed);
+                    assertEquals(emailFor(expected, normalized), emailFor(store, normalized), "seed " + seed);
+                }
+            }
+        }
+    }
+
+    @Test
+    void keepsNamesAcrossRepeatedRebuilds() {
+        StudentStore store = resolve(0);
+
+        for (int rebuild = 0; rebuild < 3; rebuild++) {
+            store.clearNameMappings();
+            observeAll(store, order(FILES, new Random(rebuild)));
+            store.resolveNames();
+        }
+
+        assertEquals("Sujal Sudhir Patil", nameOf(store, "sujal@example.com"));
+        assertEquals("Pranav Hire", nameOf(store, "pranav@example.com"));
+        assertEquals(store.find("sujal@example.com"), store.studentForName("sujalpatil"));
+    }
+
+    @Test
+    void offeredNameReplacesOnlyWorseSpelling() {
+        StudentStore store = new StudentStore();
+        int id = store.intern("asha@example.com", "ASHA PATIL");
+
+        store.offerDisplayName(id, "Asha Patil");
+        assertEquals("Asha Patil", store.nameOf(id));
+
+        store.offerDisplayName(id, "Patil");
+        assertEquals("Asha Patil", store.nameOf(id));
+
+        store.offerDisplayName(id, "asha");
+        assertEquals("Asha Patil", store.nameOf(id));
+
+        store.offerDisplayName(id, "Asha Ramesh Patil");
+        assertEquals("Asha Ramesh Patil", store.nameOf(id));
+    }
+
+    private static StudentStore resolve(long seed) {
+        StudentStore store = new StudentStore();
+        observeAll(store, seed == 0 ? toLists(FILES) : order(FILES, new Random(seed)));
+        store.resolveNames();
+        return store;
+    }
+
+    private static void observeAll(StudentStore store, List<List<String[]>> files) {
+        for (List<String[]> file : files) {
+            BitSet observedInFile = new BitSet();
+            for (String[] row : file) {
+                store.observe(row[0], row[1], observedInFile);
+            }
+        }
+    }
+
+    private static List<List<String[]>> order(String[][][] files, Random random) {
+        List<List<String[]>> ordered = toLists(files);
+        Collections.shuffle(ordered, random);
+        for (List<String[]> file : ordered) {
+            Collections.shuffle(file, random);
+        }
+        return ordered;
+    }
+
+    private static List<List<String[]>> toLists(String[][][] files) {
+        List<List<String[]>> lists = new ArrayList<>();
+        for (String[][] file : files) {
+            List<String[]> rows = new ArrayList<>();
+            Collections.addAll(rows, file);
+            lists.add(rows);
+        }
+        return lists;
+    }
+
+    private static String nameOf(StudentStore store, String email) {
+        return store.nameOf(store.find(email));
+    }
+
+    private static String emailFor(StudentStore store, String normalizedName) {
+        int id = store.studentForName(normalizedName);
+        return id < 0 ? null : store.emailOf(id);
+    }
+}
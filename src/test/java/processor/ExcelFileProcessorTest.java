@@ -0,0 +1,61 @@
+package processor;
+
+import model.ExtractedFile;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import reader.XlsxStreamReader;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ExcelFileProcessorTest {
+
+    private static final byte[] CSV = "Name,Email\nAsha Patil,asha@example.com\n".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    void readsDelimitedTextByExtension() throws Exception {
+        ExtractedFile extracted = ExcelFileProcessor.extractFile("list.csv", CSV, new XlsxStreamReader());
+
+        assertEquals(1, extracted.getTotalSheets());
+        assertEquals(1, extracted.getRowCount());
+    }
+
+    @Test
+    void readsTsvAsTabSeparatedDespiteCommaTitle() throws Exception {
+        byte[] tsv = ("Shortlist, Round 1\nName\tEmail\nAsha Patil\tasha@example.com\n"
+                + "Ravi Kale\travi@example.com\n").getBytes(StandardCharsets.UTF_8);
+
+        ExtractedFile extracted = ExcelFileProcessor.extractFile("round1.tsv", tsv, new XlsxStreamReader());
+
+        assertEquals(2, extracted.getRowCount());
+        assertEquals("ravi@example.com", extracted.getSheets().get(0).getEmail(1));
+    }
+
+    @Test
+    void rejectsUnknownContentWithSpreadsheetExtension() {
+        IOException error = assertThrows(IOException.class,
+                () -> ExcelFileProcessor.extractFile("renamed.xls", CSV, new XlsxStreamReader()));
+
+        assertEquals("Unsupported file format", error.getMessage());
+    }
+
+    @Test
+    void picksReaderByContentNotExtension() throws Exception {
+        byte[] xls;
+        try (HSSFWorkbook workbook = new HSSFWorkbook()) {
+            workbook.createSheet("First");
+            workbook.createSheet("Second");
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            workbook.write(bytes);
+            xls = bytes.toByteArray();
+        }
+
+        ExtractedFile extracted = ExcelFileProcessor.extractFile("export.csv", xls, new XlsxStreamReader());
+
+        assertEquals(2, extracted.getTotalSheets());
+    }
+}
@@ -0,0 +1,164 @@
+package reader;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DelimitedTextReaderTest {
+
+    private static final byte[] BOM = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+
+    @Test
+    void splitsPlainCommaSeparatedRows() throws Exception {
+        List<String[]> rows = read("Name,Email\nAsha Patil,asha@example.com\n");
+
+        assertEquals(2, rows.size());
+        assertArrayEquals(new String[]{"Name", "Email"}, rows.get(0));
+        assertArrayEquals(new String[]{"Asha Patil", "asha@example.com"}, rows.get(1));
+    }
+
+    @Test
+    void keepsDelimitersAndLineBreaksInsideQuotes() throws Exception {
+        List<String[]> rows = read("\"Patil, Asha\",\"line one\nline two\",x\n");
+
+        assertEquals(1, rows.size());
+        assertArrayEquals(new String[]{"Patil, Asha", "line one\nline two", "x"}, rows.get(0));
+    }
+
+    @Test
+    void unescapesDoubledQuotes() throws Exception {
+        List<String[]> rows = read("\"say \"\"hi\"\"\",\"\"\"\"\n");
+
+        assertArrayEquals(new String[]{"say \"hi\"", "\""}, rows.get(0));
+    }
+
+    @Test
+    void leavesEmptyFieldsNull() throws Exception {
+        List<String[]> rows = read("a,,c,\n");
+
+        assertArrayEquals(new String[]{"a", null, "c", null}, rows.get(0));
+    }
+
+    @Test
+    void skipsBlankLinesAndKeepsRowNumbers() throws Exception {
+        List<Integer> rowNums = new ArrayList<>();
+        read("a,b\r\n\r\n,\r\nc,d\r\n", rowNums);
+
+        assertEquals(List.of(0, 3), rowNums);
+    }
+
+    @Test
+    void stripsUtf8ByteOrderMark() throws Exception {
+        byte[] text = "Email,Name\nx@example.com,Ravi\n".getBytes(StandardCharsets.UTF_8);
+        byte[] content = new byte[BOM.length + text.length];
+        System.arraycopy(BOM, 0, content, 0, BOM.length);
+        System.arraycopy(text, 0, content, BOM.length, text.length);
+
+        List<String[]> rows = read(content);
+
+        assertEquals("Email", rows.get(0)[0]);
+        assertArrayEquals(new String[]{"x@example.com", "Ravi"}, rows.get(1));
+    }
+
+    @Test
+    void detectsDelimiterFromLeadingLines() {
+        assertEquals((byte) ',', DelimitedTextReader.sniffDelimiter(buffer("a,b,c\n"), 0));
+        assertEquals((byte) '\t', DelimitedTextReader.sniffDelimiter(buffer("a\tb, c\tc\n"), 0));
+        assertEquals((byte) ';', DelimitedTextReader.sniffDelimiter(buffer("a;b;c\n1,5;2,5;3\n"), 0));
+        assertEquals((byte) '|', DelimitedTextReader.sniffDelimiter(buffer("a|b|c"), 0));
+    }
+
+    @Test
+    void looksPastTitleLineWhenDetecting() {
+        String text = "Shortlist, Round 1\n\nName\tEmail\tBranch\nAsha Patil\tasha@example.com\tIT\n";
+
+        assertEquals((byte) '\t', DelimitedTextReader.sniffDelimiter(buffer(text), 0));
+    }
+
+    @Test
+    void usesConfiguredDelimiterWithoutDetecting() throws Exception {
+        List<String[]> rows = new ArrayList<>();
+        byte[] content = "Shortlist, Round 1\nName\tEmail\n".getBytes(StandardCharsets.UTF_8);
+        new DelimitedTextReader((byte) '\t').read(new ByteArrayInputStream(content),
+                collector(rows, new ArrayList<>()));
+
+        assertArrayEquals(new String[]{"Shortlist, Round 1"}, rows.get(0));
+        assertArrayEquals(new String[]{"Name", "Email"}, rows.get(1));
+    }
+
+    @Test
+    void ignoresDelimitersInsideQuotesWhenDetecting() {
+        assertEquals((byte) '\t', DelimitedTextReader.sniffDelimiter(buffer("\"a, b, c\"\td\n"), 0));
+    }
+
+    @Test
+    void fallsBackToCommaWithoutDelimiters() {
+        assertEquals((byte) ',', DelimitedTextReader.sniffDelimiter(buffer("single\n"), 0));
+    }
+
+    @Test
+    void readsTabSeparatedRows() throws Exception {
+        List<String[]> rows = read("Name\tEmail\n\"Kale, Girish\"\tg@example.com\n");
+
+        assertArrayEquals(new String[]{"Kale, Girish", "g@example.com"}, rows.get(1));
+    }
+
+    @Test
+    void readsFileLikeStream(@TempDir Path dir) throws Exception {
+        String text = "\uFEFFName;Email\n\"Hire \"\"Pranav\"\"\";p@example.com\nÅsa;a@example.com\n";
+        File file = dir.resolve("list.csv").toFile();
+        Files.write(file.toPath(), text.getBytes(StandardCharsets.UTF_8));
+
+        List<String[]> rows = new ArrayList<>();
+        new DelimitedTextReader().read(file, collector(rows, new ArrayList<>()));
+
+        assertEquals(3, rows.size());
+        assertArrayEquals(new String[]{"Name", "Email"}, rows.get(0));
+        assertArrayEquals(new String[]{"Hire \"Pranav\"", "p@example.com"}, rows.get(1));
+        assertArrayEquals(new String[]{"Åsa", "a@example.com"}, rows.get(2));
+    }
+
+    private static List<String[]> read(String content) throws Exception {
+        return read(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static List<String[]> read(byte[] content) throws Exception {
+        List<String[]> rows = new ArrayList<>();
+        new DelimitedTextReader().read(new ByteArrayInputStream(content), collector(rows, new ArrayList<>()));
+        return rows;
+    }
+
+    private static void read(String content, List<Integer> rowNums) throws Exception {
+        new DelimitedTextReader().read(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)),
+                collector(new ArrayList<>(), rowNums));
+    }
+
+    private static SheetHandlerFactory collector(List<String[]> rows, List<Integer> rowNums) {
+        return (sheetIndex, sheetName) -> new SheetRowHandler() {
+            @Override
+            public void row(int rowNum, String[] cells) {
+                rows.add(cells);
+                rowNums.add(rowNum);
+            }
+
+            @Override
+            public void endSheet() {
+            }
+        };
+    }
+
+    private static ByteBuffer buffer(String content) {
+        return ByteBuffer.wrap(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,105 @@
+package reader;
+
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class HssfEventReaderTest {
+
+    @Test
+    void readsCellsPerSheetInOrder() throws Exception {
+        byte[] content = workbook();
+        List<String> sheetNames = new ArrayList<>();
+        List<List<String[]>> sheets = new ArrayList<>();
+        List<List<Integer>> rowNums = new ArrayList<>();
+
+        int sheetCount = new HssfEventReader().read(new ByteArrayInputStream(content), (index, name) -> {
+            sheetNames.add(name);
+            List<String[]> rows = new ArrayList<>();
+            List<Integer> nums = new ArrayList<>();
+            sheets.add(rows);
+            rowNums.add(nums);
+            return new SheetRowHandler() {
+                @Override
+                public void row(int rowNum, String[] cells) {
+                    rows.add(cells);
+                    nums.add(rowNum);
+                }
+
+                @Override
+                public void endSheet() {
+                }
+            };
+        });
+
+        assertEquals(2, sheetCount);
+        assertEquals(List.of("Shortlist", "Extra"), sheetNames);
+
+        List<String[]> shortlist = sheets.get(0);
+        assertEquals(List.of(0, 1, 3), rowNums.get(0));
+        assertArrayEquals(new String[]{"Name", "Email", "Score"}, shortlist.get(0));
+        assertArrayEquals(new String[]{"Asha Patil", "asha@example.com", "42"}, shortlist.get(1));
+        assertArrayEquals(new String[]{"RAVI KALE", null, "2.5"}, shortlist.get(2));
+
+        assertArrayEquals(new String[]{null, "only"}, sheets.get(1).get(0));
+    }
+
+    @Test
+    void skipsUnwantedColumns() throws Exception {
+        List<String[]> rows = new ArrayList<>();
+
+        new HssfEventReader().read(new ByteArrayInputStream(workbook()), (index, name) -> new SheetRowHandler() {
+            @Override
+            public void row(int rowNum, String[] cells) {
+                if (index == 0) rows.add(cells);
+            }
+
+            @Override
+            public boolean wantsColumn(int column) {
+                return column != 1;
+            }
+
+            @Override
+            public void endSheet() {
+            }
+        });
+
+        assertArrayEquals(new String[]{"Asha Patil", null, "42"}, rows.get(1));
+    }
+
+    private static byte[] workbook() throws Exception {
+        try (HSSFWorkbook workbook = new HSSFWorkbook()) {
+            Sheet shortlist = workbook.createSheet("Shortlist");
+            Row header = shortlist.createRow(0);
+            header.createCell(0).setCellValue("Name");
+            header.createCell(1).setCellValue("Email");
+            header.createCell(2).setCellValue("Score");
+
+            Row first = shortlist.createRow(1);
+            first.createCell(0).setCellValue("Asha Patil");
+            first.createCell(1).setCellFormula("LOWER(\"ASHA@EXAMPLE.COM\")");
+            first.createCell(2).setCellValue(42);
+
+            Row second = shortlist.createRow(3);
+            second.createCell(0).setCellValue("RAVI KALE");
+            second.createCell(2).setCellFormula("5/2");
+
+            Sheet extra = workbook.createSheet("Extra");
+            extra.createRow(0).createCell(1).setCellValue("only");
+
+            workbook.getCreationHelper().createFormulaEvaluator().evaluateAll();
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            workbook.write(bytes);
+            return bytes.toByteArray();
+        }
+    }
+}
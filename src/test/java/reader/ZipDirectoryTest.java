@@ -0,0 +1,120 @@
+package reader;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ZipDirectoryTest {
+
+    @Test
+    void findsDeflatedAndStoredEntries() throws Exception {
+        byte[] sheet = "<worksheet>rows</worksheet>".getBytes(StandardCharsets.UTF_8);
+        byte[] stored = "[Content_Types]".getBytes(StandardCharsets.UTF_8);
+        ZipDirectory directory = ZipDirectory.read(ByteBuffer.wrap(zip(
+                entry("xl/worksheets/sheet1.xml", sheet, ZipEntry.DEFLATED),
+                entry("[Content_Types].xml", stored, ZipEntry.STORED))));
+
+        assertNotNull(directory);
+        assertTrue(directory.contains("xl/worksheets/sheet1.xml"));
+        assertTrue(directory.contains("[Content_Types].xml"));
+        assertArrayEquals(sheet, readAll(directory, "xl/worksheets/sheet1.xml"));
+        assertArrayEquals(stored, readAll(directory, "[Content_Types].xml"));
+    }
+
+    @Test
+    void stripsLeadingSlashFromEntryNames() throws Exception {
+        byte[] content = "x".getBytes(StandardCharsets.UTF_8);
+        ZipDirectory directory = ZipDirectory.read(ByteBuffer.wrap(zip(
+                entry("/xl/workbook.xml", content, ZipEntry.DEFLATED))));
+
+        assertTrue(directory.contains("xl/workbook.xml"));
+        assertFalse(directory.contains("/xl/workbook.xml"));
+        assertArrayEquals(content, readAll(directory, "xl/workbook.xml"));
+    }
+
+    @Test
+    void reportsMissingEntries() throws Exception {
+        ZipDirectory directory = ZipDirectory.read(ByteBuffer.wrap(zip(
+                entry("xl/workbook.xml", new byte[]{1}, ZipEntry.DEFLATED))));
+
+        assertFalse(directory.contains("xl/worksheets/sheet1.xml"));
+        IOException error = assertThrows(IOException.class, () -> directory.open("xl/worksheets/sheet1.xml"));
+        assertEquals("Missing zip entry: xl/worksheets/sheet1.xml", error.getMessage());
+    }
+
+    @Test
+    void returnsNullWithoutEndOfDirectory() throws Exception {
+        byte[] content = zip(entry("a.xml", new byte[]{1, 2, 3}, ZipEntry.DEFLATED));
+
+        assertNull(ZipDirectory.read(ByteBuffer.wrap(Arrays.copyOf(content, content.length - 22))));
+        assertNull(ZipDirectory.read(ByteBuffer.wrap(new byte[64])));
+    }
+
+    @Test
+    void rejectsHighlyCompressedEntries() throws Exception {
+        byte[] zeros = new byte[4 * 1024 * 1024];
+        ZipDirectory directory = ZipDirectory.read(ByteBuffer.wrap(zip(
+                entry("xl/worksheets/sheet1.xml", zeros, ZipEntry.DEFLATED))));
+
+        assertThrows(IOException.class, () -> readAll(directory, "xl/worksheets/sheet1.xml"));
+    }
+
+    private static byte[] readAll(ZipDirectory directory, String name) throws IOException {
+        try (InputStream in = directory.open(name)) {
+            return in.readAllBytes();
+        }
+    }
+
+    private static Part entry(String name, byte[] content, int method) {
+        return new Part(name, content, method);
+    }
+
+    private static byte[] zip(Part... parts) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream out = new ZipOutputStream(bytes)) {
+            for (Part part : parts) {
+                ZipEntry entry = new ZipEntry(part.name);
+                entry.setMethod(part.method);
+                if (part.method == ZipEntry.STORED) {
+                    CRC32 crc = new CRC32();
+                    crc.update(part.content);
+                    entry.setSize(part.content.length);
+                    entry.setCompressedSize(part.content.length);
+                    entry.setCrc(crc.getValue());
+                }
+                out.putNextEntry(entry);
+                out.write(part.content);
+                out.closeEntry();
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static class Part {
+        final String name;
+        final byte[] content;
+        final int method;
+
+        Part(String name, byte[] content, int method) {
+            this.name = name;
+            this.content = content;
+            this.method = method;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package writer;
+
+import model.StudentStore;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class ReportGeneratorTest {
+
+    @Test
+    void replacesDeltaEvenWhenNothingChanged(@TempDir Path dir) throws Exception {
+        StudentStore store = new StudentStore();
+        store.record("asha@example.com", "Asha Patil");
+        store.record("ravi@example.com", "Ravi Kale");
+
+        String output = dir.resolve("report.xlsx").toString();
+        Path delta = Path.of(ReportGenerator.deltaPathFor(output));
+        Path snapshot = dir.resolve("snapshot");
+        Files.write(delta, new byte[]{1});
+
+        ReportGenerator.generateReport(store, output, null, snapshot);
+        assertFalse(Files.exists(delta));
+
+        store.record("ravi@example.com", "Ravi Kale");
+        ReportGenerator.generateReport(store, output, null, snapshot);
+        assertEquals(2, deltaRows(delta.toFile()));
+
+        ReportGenerator.generateReport(store, output, null, snapshot);
+        assertEquals(0, deltaRows(delta.toFile()));
+    }
+
+    private static int deltaRows(File delta) throws Exception {
+        try (XSSFWorkbook workbook = new XSSFWorkbook(delta)) {
+            Sheet sheet = workbook.getSheet("Changes");
+            return sheet.getLastRowNum();
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package writer;
+
+import model.StudentRecord;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReportSnapshotTest {
+
+    @Test
+    void reportsNoChangesAgainstIdenticalSnapshot() {
+        ReportSnapshot previous = snapshot(student("A", 3), student("B", 2), student("C", 1));
+        ReportSnapshot current = snapshot(student("A", 3), student("B", 2), student("C", 1));
+
+        assertTrue(current.changesSince(previous).isEmpty());
+        assertTrue(current.sameReportAs(previous));
+    }
+
+    @Test
+    void classifiesChangesAndOrdersThemByType() {
+        ReportSnapshot previous = snapshot(student("A", 3), student("B", 2), student("C", 2), student("D", 1));
+        ReportSnapshot current = snapshot(student("E", 4), student("A", 3), student("B", 3), student("D", 1));
+
+        List<ReportSnapshot.Change> changes = current.changesSince(previous);
+
+        assertEquals(4, changes.size());
+        assertChange(changes.get(0), ReportSnapshot.ChangeType.NEW, "E", 0, 4, 0, 1);
+        assertChange(changes.get(1), ReportSnapshot.ChangeType.COUNT_CHANGED, "B", 2, 3, 2, 2);
+        assertChange(changes.get(2), ReportSnapshot.ChangeType.REMOVED, "C", 2, 0, 2, 0);
+        assertChange(changes.get(3), ReportSnapshot.ChangeType.RANK_MOVED, "A", 3, 3, 1, 2);
+    }
+
+    @Test
+    void usesDenseRanks() {
+        ReportSnapshot previous = snapshot(student("A", 5), student("B", 5), student("C", 4));
+        ReportSnapshot current = snapshot(student("A", 5), student("C", 4));
+
+        List<ReportSnapshot.Change> changes = current.changesSince(previous);
+
+        assertEquals(1, changes.size());
+        assertChange(changes.get(0), ReportSnapshot.ChangeType.REMOVED, "B", 5, 0, 1, 0);
+    }
+
+    @Test
+    void detectsRenamedStudentOnlyAsDifferentReport() {
+        ReportSnapshot previous = snapshot(student("A", 2));
+        ReportSnapshot current = ReportSnapshot.of(
+                List.of(new StudentRecord("Renamed", "a@example.com", 2)), null);
+
+        assertTrue(current.changesSince(previous).isEmpty());
+        assertFalse(current.sameReportAs(previous));
+    }
+
+    @Test
+    void roundTripsThroughSnapshotFile(@TempDir Path dir) {
+        BitSet appearances = new BitSet();
+        appearances.set(0);
+        appearances.set(70);
+        List<StudentRecord> students = List.of(
+                new StudentRecord("Asha Patil", "asha@example.com", 2, appearances),
+                new StudentRecord("Ravi Kale", "ravi@example.com", 1, new BitSet()));
+        ReportSnapshot snapshot = ReportSnapshot.of(students, List.of("Altizon", "Siemens"));
+        Path file = dir.resolve(".interview-tracker-snapshot");
+
+        snapshot.save(file);
+        ReportSnapshot loaded = ReportSnapshot.load(file);
+
+        assertTrue(loaded.sameReportAs(snapshot));
+        assertTrue(loaded.changesSince(snapshot).isEmpty());
+    }
+
+    @Test
+    void ignoresMissingSnapshotFile(@TempDir Path dir) {
+        assertNull(ReportSnapshot.load(dir.resolve("missing")));
+    }
+
+    @Test
+    void ignoresCorruptSnapshotFile(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve(".interview-tracker-snapshot");
+        ReportSnapshot.of(List.of(new StudentRecord("Asha Patil", "asha@example.com", 2, new BitSet())),
+                List.of("Altizon")).save(file);
+        byte[] saved = Files.readAllBytes(file);
+
+        for (int offset = 8; offset < saved.length; offset++) {
+            for (byte value : new byte[]{(byte) 0xFF, (byte) 0x7F, 0}) {
+                byte[] corrupt = saved.clone();
+                corrupt[offset] = value;
+                Files.write(file, corrupt);
+
+                assertDoesNotThrow(() -> ReportSnapshot.load(file), "offset " + offset);
+            }
+        }
+
+        Files.write(file, Arrays.copyOf(saved, 16));
+        assertNull(ReportSnapshot.load(file));
+    }
+
+    private static void assertChange(ReportSnapshot.Change change, ReportSnapshot.ChangeType type, String name,
+                                     int oldCount, int newCount, int oldRank, int newRank) {
+        assertEquals(type, change.getType());
+        assertEquals(name, change.getName());
+        assertEquals(name.toLowerCase() + "@example.com", change.getEmail());
+        assertEquals(oldCount, change.getOldCount());
+        assertEquals(newCount, change.getNewCount());
+        assertEquals(oldRank, change.getOldRank());
+        assertEquals(newRank, change.getNewRank());
+    }
+
+    private static StudentRecord student(String name, int count) {
+        return new StudentRecord(name, name.toLowerCase() + "@example.com", count);
+    }
+
+    private static ReportSnapshot snapshot(StudentRecord... sortedStudents) {
+        return ReportSnapshot.of(List.of(sortedStudents), null);
+    }
+}